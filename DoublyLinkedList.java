@@ -0,0 +1,382 @@
+package dsa;
+
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+class DoublyLinkedList implements Iterable<Integer> {
+    protected Node head;
+    protected Node tail;
+    protected int size;
+    protected int modCount;
+    // Optional value -> node index, null unless enableValueIndex() was called
+    private ValueIndex valueIndex;
+
+    protected void appendNode(int data) {
+        Node newNode = newNode(data, tail);
+        if (tail == null) {
+            head = newNode;
+        } else {
+            tail.next = newNode;
+        }
+        tail = newNode;
+        size++;
+        modCount++;
+        if (valueIndex != null) valueIndex.add(data, (ValueIndex.IndexedNode) newNode);
+    }
+
+    protected int length() {
+        return size;
+    }
+
+    protected Node readNode(int position) {
+        return nodeAt(position);
+    }
+
+    final Node nodeAt(int position) {
+        if (position < 1 || position > size) return null;
+
+        Node current;
+        if (position <= size / 2 + 1) {
+            current = head;
+            for (int count = 1; count < position; count++) {
+                current = current.next;
+            }
+        } else {
+            current = tail;
+            for (int count = size; count > position; count--) {
+                current = current.prev;
+            }
+        }
+        return current;
+    }
+
+    protected void updateNode(int position, int newData) {
+        Node nodeToUpdate = nodeAt(position);
+        if (nodeToUpdate != null) {
+            setData(nodeToUpdate, newData);
+        }
+    }
+
+    protected void deleteNode(int position) {
+        if (head == null) return;
+
+        Node nodeToDelete = nodeAt(position);
+        if (nodeToDelete != null) {
+            unlink(nodeToDelete);
+        }
+    }
+
+    // Build the value index from the current nodes; from then on every change
+    // keeps it in sync and every operation on it is O(1) expected. Nodes are
+    // swapped for IndexedNodes, so open iterators fail fast and references to
+    // old nodes go stale.
+    protected void enableValueIndex() {
+        if (valueIndex != null) return;
+        ValueIndex index = new ValueIndex();
+        Node previous = null;
+        for (Node current = head; current != null; current = current.next) {
+            ValueIndex.IndexedNode indexed = new ValueIndex.IndexedNode(current.data, current.next, previous);
+            if (previous == null) {
+                head = indexed;
+            } else {
+                previous.next = indexed;
+            }
+            index.add(indexed.data, indexed);
+            previous = indexed;
+        }
+        if (previous != null) {
+            tail = previous;
+            modCount++;
+        }
+        valueIndex = index;
+    }
+
+    protected void disableValueIndex() {
+        valueIndex = null;
+    }
+
+    protected boolean hasValueIndex() {
+        return valueIndex != null;
+    }
+
+    // Heap held by the value index, 0 when it is off
+    protected long valueIndexBytes() {
+        return valueIndex == null ? 0 : valueIndex.footprintBytes();
+    }
+
+    // A node holding the value, or null. Without the index this is a scan from
+    // the head; with it, duplicates come back in no particular order.
+    protected Node findByValue(int value) {
+        if (valueIndex != null) return valueIndex.any(value);
+        for (Node current = head; current != null; current = current.next) {
+            if (current.data == value) return current;
+        }
+        return null;
+    }
+
+    protected int countByValue(int value) {
+        if (valueIndex != null) return valueIndex.count(value);
+        int count = 0;
+        for (Node current = head; current != null; current = current.next) {
+            if (current.data == value) count++;
+        }
+        return count;
+    }
+
+    // Delete one node holding the value; false if there is none
+    protected boolean deleteByValue(int value) {
+        Node node = findByValue(value);
+        if (node == null) return false;
+        unlink(node);
+        return true;
+    }
+
+    // Overwrite one node holding the value; false if there is none
+    protected boolean updateByValue(int value, int newData) {
+        Node node = findByValue(value);
+        if (node == null) return false;
+        setData(node, newData);
+        return true;
+    }
+
+    // 1-based position of a node in this list, found by walking back to the head
+    protected int positionOf(Node node) {
+        int position = 1;
+        for (Node current = node.prev; current != null; current = current.prev) {
+            position++;
+        }
+        return position;
+    }
+
+    // Nodes are IndexedNodes while the value index is on, so the index can
+    // drop one in O(1)
+    private Node newNode(int data, Node prev) {
+        return valueIndex != null ? new ValueIndex.IndexedNode(data, null, prev) : new Node(data, null, prev);
+    }
+
+    private void setData(Node node, int newData) {
+        if (valueIndex != null && node.data != newData) {
+            valueIndex.remove(node.data, (ValueIndex.IndexedNode) node);
+            valueIndex.add(newData, (ValueIndex.IndexedNode) node);
+        }
+        node.data = newData;
+    }
+
+    private void unlink(Node node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            head = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        } else {
+            tail = node.prev;
+        }
+        size--;
+        modCount++;
+        if (valueIndex != null) valueIndex.remove(node.data, (ValueIndex.IndexedNode) node);
+    }
+
+    protected void appendAll(int[] values) {
+        insertAll(size + 1, values, 0, values.length);
+    }
+
+    protected void appendAll(int[] values, int offset, int count) {
+        insertAll(size + 1, values, offset, count);
+    }
+
+    protected void insertAll(int position, int[] values) {
+        insertAll(position, values, 0, values.length);
+    }
+
+    protected void insertAll(int position, int[] values, int offset, int count) {
+        if (position < 1 || position > size + 1 || count <= 0) return;
+
+        Node after = position == size + 1 ? null : nodeAt(position);
+        Node before = after == null ? tail : after.prev;
+        Node first = newNode(values[offset], before);
+        Node last = first;
+        for (int i = 1; i < count; i++) {
+            Node node = newNode(values[offset + i], last);
+            last.next = node;
+            last = node;
+        }
+        if (before == null) {
+            head = first;
+        } else {
+            before.next = first;
+        }
+        last.next = after;
+        if (after == null) {
+            tail = last;
+        } else {
+            after.prev = last;
+        }
+        size += count;
+        modCount++;
+        if (valueIndex != null) {
+            for (Node node = first; node != after; node = node.next) {
+                valueIndex.add(node.data, (ValueIndex.IndexedNode) node);
+            }
+        }
+    }
+
+    protected void deleteRange(int from, int to) {
+        if (from < 1 || to > size || from > to) return;
+
+        Node first;
+        Node last;
+        if (from - 1 <= size - to) {
+            first = nodeAt(from);
+            last = first;
+            for (int position = from; position < to; position++) {
+                last = last.next;
+            }
+        } else {
+            last = nodeAt(to);
+            first = last;
+            for (int position = to; position > from; position--) {
+                first = first.prev;
+            }
+        }
+        if (first.prev != null) {
+            first.prev.next = last.next;
+        } else {
+            head = last.next;
+        }
+        if (last.next != null) {
+            last.next.prev = first.prev;
+        } else {
+            tail = first.prev;
+        }
+        size -= to - from + 1;
+        modCount++;
+        if (valueIndex != null) {
+            for (Node node = first; node != last.next; node = node.next) {
+                valueIndex.remove(node.data, (ValueIndex.IndexedNode) node);
+            }
+        }
+    }
+
+    protected void updateRange(int from, int[] values) {
+        updateRange(from, values, 0, values.length);
+    }
+
+    protected void updateRange(int from, int[] values, int offset, int count) {
+        if (from < 1 || count <= 0 || from - 1 + count > size) return;
+
+        Node current = nodeAt(from);
+        for (int i = 0; i < count; i++) {
+            setData(current, values[offset + i]);
+            current = current.next;
+        }
+    }
+
+    protected int readRange(int from, int to, int[] out) {
+        if (from < 1 || from > size || from > to) return 0;
+
+        int count = Math.min(Math.min(to, size) - from + 1, out.length);
+        Node current = nodeAt(from);
+        for (int i = 0; i < count; i++) {
+            out[i] = current.data;
+            current = current.next;
+        }
+        return count;
+    }
+
+    protected void sort() {
+        if (size < 2) return;
+        head = NodeSort.sort(head, size);
+        tail = NodeSort.linkPrev(head);
+        modCount++;
+    }
+
+    protected void parallelSort() {
+        parallelSort(ForkJoinPool.commonPool());
+    }
+
+    protected void parallelSort(ForkJoinPool pool) {
+        if (size < 2) return;
+        head = NodeSort.parallelSort(head, size, pool);
+        tail = NodeSort.linkPrev(head);
+        modCount++;
+    }
+
+    // First half of a sort that leaves the list readable meanwhile: the
+    // nodes in sorted order, found by reading the list only. Hand the result
+    // to applySort before anything else changes the list.
+    protected Node[] sortedOrder() {
+        return NodeSort.sortedOrder(head, size);
+    }
+
+    // Second half: relink the nodes in the given order, O(n)
+    protected void applySort(Node[] order) {
+        if (order.length != size) throw new IllegalStateException("List changed since sortedOrder()");
+        if (size < 2) return;
+        NodeSort.relink(order);
+        head = order[0];
+        tail = order[size - 1];
+        modCount++;
+    }
+
+    public PrimitiveIterator.OfInt iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return new NodeSpliterator(head, size, modCount, () -> modCount);
+    }
+
+    protected IntStream stream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    // Adapter that lets ListJournal log changes to this list and replay them
+    // into it on recovery
+    ListJournal.Target journalTarget() {
+        return new ListJournal.Target() {
+            public void appendNode(int data) {
+                DoublyLinkedList.this.appendNode(data);
+            }
+
+            public void updateNode(int position, int newData) {
+                DoublyLinkedList.this.updateNode(position, newData);
+            }
+
+            public void deleteNode(int position) {
+                DoublyLinkedList.this.deleteNode(position);
+            }
+
+            public void insertAll(int position, int[] values, int offset, int count) {
+                DoublyLinkedList.this.insertAll(position, values, offset, count);
+            }
+
+            public void updateRange(int from, int[] values, int offset, int count) {
+                DoublyLinkedList.this.updateRange(from, values, offset, count);
+            }
+
+            public void deleteRange(int from, int to) {
+                DoublyLinkedList.this.deleteRange(from, to);
+            }
+
+            public void sort() {
+                parallelSort();
+            }
+
+            public int length() {
+                return DoublyLinkedList.this.length();
+            }
+
+            public void forEach(IntConsumer action) {
+                spliterator().forEachRemaining(action);
+            }
+        };
+    }
+}
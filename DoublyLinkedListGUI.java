@@ -1,34 +1,90 @@
+package dsa;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
 
 public class DoublyLinkedListGUI extends JFrame {
+    private static final int FRAME_MILLIS = 16;
+    private static final int BULK_COUNT = 1_000_000;
+    private static final int BULK_CHUNK = 10_000;
+    private static final int STATS_FRAMES = 30;
+    private static final int READ_PREVIEW = 50;
+
+    private final Object listLock = new Object();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "doubly-linked-list-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
     private DoublyLinkedList list;
-    private JTextArea displayArea;
+    private ListViewModel listModel;
+    private JLabel summaryLabel;
+    private JLabel statusLabel;
     private JTextField inputField;
     private JTextField positionField;
+    // Worker thread only; null unless durability is turned on
+    private ListJournal journal;
+    private final OpStats stats = OpStats.ENABLED ? new OpStats("DoublyLinkedList", InstrumentedDoublyLinkedList.OPERATIONS) : null;
+    private OpStats.TableModel statsModel;
+    private int framesSinceStats;
 
     public DoublyLinkedListGUI() {
-        list = new DoublyLinkedList();
+        list = newList();
         initializeGUI();
+        String journalDirectory = System.getProperty("doublylinkedlist.journal");
+        if (journalDirectory != null) {
+            openJournal(Paths.get(journalDirectory));
+        }
     }
 
     private void initializeGUI() {
         setTitle("Doubly Linked List GUI");
-        setSize(400, 400);
+        setSize(640, 440);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                closeJournal();
+                if (stats != null) stats.unregisterMBeans();
+            }
+        });
         setLayout(new BorderLayout());
 
-        displayArea = new JTextArea();
-        displayArea.setEditable(false);
-        add(new JScrollPane(displayArea), BorderLayout.CENTER);
+        listModel = new ListViewModel();
+        JList<String> displayList = new JList<>(listModel);
+        displayList.setPrototypeCellValue("0000000: -0000000000");
+        summaryLabel = new JLabel();
+        statusLabel = new JLabel();
+        JPanel displayPanel = new JPanel(new BorderLayout());
+        displayPanel.add(summaryLabel, BorderLayout.NORTH);
+        displayPanel.add(new JScrollPane(displayList), BorderLayout.CENTER);
+        displayPanel.add(statusLabel, BorderLayout.SOUTH);
+        add(displayPanel, BorderLayout.CENTER);
 
         JPanel inputPanel = new JPanel();
-        inputPanel.setLayout(new GridLayout(3, 1));
+        inputPanel.setLayout(new GridLayout(4, 1));
 
         JPanel addPanel = new JPanel();
         addPanel.setLayout(new FlowLayout());
-        inputField = new JTextField(5);
+        inputField = new JTextField(8);
+        inputField.setToolTipText("One integer or a comma-separated list");
         JButton appendButton = new JButton("Append Node");
         appendButton.addActionListener(this::appendNodeCallback);
         addPanel.add(new JLabel("Data:"));
@@ -36,9 +92,24 @@ public class DoublyLinkedListGUI extends JFrame {
         addPanel.add(appendButton);
         inputPanel.add(addPanel);
 
+        JPanel valuePanel = new JPanel();
+        valuePanel.setLayout(new FlowLayout());
+        JButton findValueButton = new JButton("Find Value");
+        findValueButton.addActionListener(this::findValueCallback);
+        valuePanel.add(findValueButton);
+        JButton deleteValueButton = new JButton("Delete Value");
+        deleteValueButton.addActionListener(this::deleteValueCallback);
+        valuePanel.add(deleteValueButton);
+        JButton replaceValueButton = new JButton("Replace Value");
+        replaceValueButton.setToolTipText("Data: old value, new value");
+        replaceValueButton.addActionListener(this::replaceValueCallback);
+        valuePanel.add(replaceValueButton);
+        inputPanel.add(valuePanel);
+
         JPanel positionPanel = new JPanel();
         positionPanel.setLayout(new FlowLayout());
-        positionField = new JTextField(5);
+        positionField = new JTextField(8);
+        positionField.setToolTipText("A position or a range such as 1000-2000");
         JButton readButton = new JButton("Read Node");
         readButton.addActionListener(this::readNodeCallback);
         JButton updateButton = new JButton("Update Node");
@@ -47,78 +118,521 @@ public class DoublyLinkedListGUI extends JFrame {
         positionPanel.add(positionField);
         positionPanel.add(readButton);
         positionPanel.add(updateButton);
+        JButton insertButton = new JButton("Insert");
+        insertButton.addActionListener(this::insertNodeCallback);
+        positionPanel.add(insertButton);
         inputPanel.add(positionPanel);
 
         JPanel deletePanel = new JPanel();
         JButton deleteButton = new JButton("Delete Node");
         deleteButton.addActionListener(this::deleteNodeCallback);
         deletePanel.add(deleteButton);
+        JButton bulkAppendButton = new JButton("Bulk Append 1M");
+        bulkAppendButton.addActionListener(this::bulkAppendCallback);
+        deletePanel.add(bulkAppendButton);
+        JButton importButton = new JButton("Import...");
+        importButton.addActionListener(this::importCallback);
+        deletePanel.add(importButton);
+        JButton exportButton = new JButton("Export...");
+        exportButton.addActionListener(this::exportCallback);
+        deletePanel.add(exportButton);
+        JButton sortButton = new JButton("Sort");
+        sortButton.addActionListener(this::sortCallback);
+        deletePanel.add(sortButton);
         inputPanel.add(deletePanel);
 
         add(inputPanel, BorderLayout.SOUTH);
 
+        if (stats != null) {
+            statsModel = new OpStats.TableModel(stats);
+            JScrollPane statsPane = new JScrollPane(new JTable(statsModel));
+            statsPane.setPreferredSize(new Dimension(560, 0));
+            add(statsPane, BorderLayout.EAST);
+            setSize(getWidth() + 560, getHeight());
+            stats.registerMBeans();
+        }
+
+        new Timer(FRAME_MILLIS, e -> refreshDisplay()).start();
         refreshDisplay();
     }
 
     private void appendNodeCallback(ActionEvent e) {
         try {
-            int data = Integer.parseInt(inputField.getText());
-            list.appendNode(data);
-            refreshDisplay();
+            int[] values = parseValues(inputField.getText());
+            submit(() -> {
+                synchronized (listLock) {
+                    if (values.length == 1) appendData(values[0]);
+                    else appendAllData(values, 0, values.length);
+                    listModel.markAppended();
+                }
+            });
             inputField.setText("");
         } catch (NumberFormatException ex) {
-            JOptionPane.showMessageDialog(this, "Please enter a valid integer.");
+            JOptionPane.showMessageDialog(this, "Please enter an integer or a comma-separated list of integers.");
+        }
+    }
+
+    private void insertNodeCallback(ActionEvent e) {
+        try {
+            int position = Integer.parseInt(positionField.getText().trim());
+            int[] values = parseValues(inputField.getText());
+            submit(() -> {
+                synchronized (listLock) {
+                    insertAllData(position, values);
+                    listModel.markChanged(position);
+                }
+            });
+            inputField.setText("");
+            positionField.setText("");
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Please enter a position and one or more integers.");
         }
     }
 
     private void readNodeCallback(ActionEvent e) {
         try {
-            int position = Integer.parseInt(positionField.getText());
-            Node node = list.readNode(position);
-            if (node != null) {
-                JOptionPane.showMessageDialog(this, "Data at position " + position + ": " + node.data);
-            } else {
-                JOptionPane.showMessageDialog(this, "Node not found at position: " + position);
-            }
+            int[] range = parseRange(positionField.getText());
+            int from = range[0];
+            int to = range[1];
+            submit(() -> {
+                String message;
+                synchronized (listLock) {
+                    if (from == to) {
+                        Node node = list.readNode(from);
+                        message = (node != null)
+                                ? "Data at position " + from + ": " + node.data
+                                : "Node not found at position: " + from;
+                    } else {
+                        int[] values = new int[Math.min(to - from + 1, READ_PREVIEW)];
+                        int count = list.readRange(from, to, values);
+                        message = count == 0
+                                ? "No nodes in positions " + from + "-" + to
+                                : "Data at positions " + from + "-" + to + ": " + joinValues(values, count, Math.min(to, list.length()) - from + 1);
+                    }
+                }
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this, message));
+            });
         } catch (NumberFormatException ex) {
-            JOptionPane.showMessageDialog(this, "Please enter a valid position.");
+            JOptionPane.showMessageDialog(this, "Please enter a valid position or range.");
         }
     }
 
     private void updateNodeCallback(ActionEvent e) {
         try {
-            int position = Integer.parseInt(positionField.getText());
-            int newData = Integer.parseInt(inputField.getText());
-            list.updateNode(position, newData);
-            refreshDisplay();
+            int[] range = parseRange(positionField.getText());
+            int from = range[0];
+            int[] values = parseValues(inputField.getText());
+            int rangeLength = range[1] - range[0] + 1;
+            if (rangeLength > 1 && values.length == 1) {
+                int value = values[0];
+                values = new int[rangeLength];
+                Arrays.fill(values, value);
+            } else if (rangeLength > 1 && values.length != rangeLength) {
+                JOptionPane.showMessageDialog(this, "Enter one value or " + rangeLength + " values for that range.");
+                return;
+            }
+            int[] newData = values;
+            submit(() -> {
+                synchronized (listLock) {
+                    if (newData.length == 1) updateData(from, newData[0]);
+                    else updateRangeData(from, newData);
+                    listModel.markChanged(from);
+                }
+            });
             inputField.setText("");
             positionField.setText("");
         } catch (NumberFormatException ex) {
-            JOptionPane.showMessageDialog(this, "Please enter valid integers for position and data.");
+            JOptionPane.showMessageDialog(this, "Please enter a position or range and one or more integers.");
         }
     }
 
     private void deleteNodeCallback(ActionEvent e) {
         try {
-            int position = Integer.parseInt(positionField.getText());
-            list.deleteNode(position);
-            refreshDisplay();
+            int[] range = parseRange(positionField.getText());
+            int from = range[0];
+            int to = range[1];
+            submit(() -> {
+                synchronized (listLock) {
+                    if (from == to) deleteData(from);
+                    else deleteRangeData(from, to);
+                    listModel.markChanged(from);
+                }
+            });
             positionField.setText("");
         } catch (NumberFormatException ex) {
-            JOptionPane.showMessageDialog(this, "Please enter a valid position.");
+            JOptionPane.showMessageDialog(this, "Please enter a valid position or range.");
+        }
+    }
+
+    private void findValueCallback(ActionEvent e) {
+        try {
+            int value = Integer.parseInt(inputField.getText().trim());
+            submit(() -> {
+                String message;
+                synchronized (listLock) {
+                    Node node = list.findByValue(value);
+                    message = (node != null)
+                            ? "Value " + value + " at position " + list.positionOf(node) + " (" + list.countByValue(value) + " in list)"
+                            : "Value not found: " + value;
+                    message += "\n" + valueIndexSummary();
+                }
+                showMessageLater(message);
+            });
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Please enter a valid integer.");
+        }
+    }
+
+    private void deleteValueCallback(ActionEvent e) {
+        try {
+            int value = Integer.parseInt(inputField.getText().trim());
+            submit(() -> {
+                boolean deleted;
+                synchronized (listLock) {
+                    deleted = deleteValueData(value);
+                    if (deleted) listModel.markChanged(1);
+                }
+                if (!deleted) showMessageLater("Value not found: " + value);
+            });
+            inputField.setText("");
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Please enter a valid integer.");
+        }
+    }
+
+    private void replaceValueCallback(ActionEvent e) {
+        try {
+            int[] values = parseValues(inputField.getText());
+            if (values.length != 2) {
+                JOptionPane.showMessageDialog(this, "Enter the old value and the new value, e.g. 5,7");
+                return;
+            }
+            submit(() -> {
+                boolean updated;
+                synchronized (listLock) {
+                    updated = updateValueData(values[0], values[1]);
+                    if (updated) listModel.markChanged(1);
+                }
+                if (!updated) showMessageLater("Value not found: " + values[0]);
+            });
+            inputField.setText("");
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Enter the old value and the new value, e.g. 5,7");
+        }
+    }
+
+    // Sorts the order without the lock, like exportCallback reads the list,
+    // and holds the lock only to relink the nodes
+    private void sortCallback(ActionEvent e) {
+        submit(() -> {
+            long start = System.nanoTime();
+            Node[] order = list.sortedOrder();
+            synchronized (listLock) {
+                sortData(order);
+                listModel.markChanged(1);
+            }
+            showMessageLater(String.format("Sorted %d nodes in %.1f ms", order.length, (System.nanoTime() - start) / 1e6));
+        });
+    }
+
+    private void bulkAppendCallback(ActionEvent e) {
+        submit(() -> {
+            Random random = new Random();
+            int[] chunk = new int[BULK_CHUNK];
+            for (int done = 0; done < BULK_COUNT; done += BULK_CHUNK) {
+                for (int i = 0; i < BULK_CHUNK; i++) {
+                    chunk[i] = random.nextInt(1000);
+                }
+                synchronized (listLock) {
+                    appendAllData(chunk, 0, BULK_CHUNK);
+                    listModel.markAppended();
+                }
+            }
+        });
+    }
+
+    private void importCallback(ActionEvent e) {
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        Path path = chooser.getSelectedFile().toPath();
+        submit(() -> {
+            BatchAppender appender = new BatchAppender();
+            try {
+                IntFileIO.Transfer transfer = IntFileIO.load(path, appender);
+                appender.flush();
+                showMessageLater("Imported " + transfer);
+            } catch (IOException ex) {
+                appender.flush();
+                showMessageLater("Import failed after " + appender.appended + " values: " + ex.getMessage());
+            }
+        });
+    }
+
+    private void exportCallback(ActionEvent e) {
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        Path path = chooser.getSelectedFile().toPath();
+        submit(() -> {
+            try {
+                IntFileIO.Transfer transfer = IntFileIO.export(path, action -> list.spliterator().forEachRemaining(action));
+                showMessageLater("Exported " + transfer);
+            } catch (IOException ex) {
+                showMessageLater("Export failed: " + ex.getMessage());
+            }
+        });
+    }
+
+    private void openJournal(Path directory) {
+        submit(() -> {
+            DoublyLinkedList recovered = newList();
+            try {
+                ListJournal opened = new ListJournal(directory, recovered.journalTarget(), ListJournal.FsyncPolicy.INTERVAL, 256, 1_000_000);
+                synchronized (listLock) {
+                    list = recovered;
+                    listModel.markChanged(1);
+                }
+                journal = opened;
+                showMessageLater(opened.recoveryReport());
+            } catch (IOException ex) {
+                showMessageLater("Could not open journal: " + ex.getMessage());
+            }
+        });
+    }
+
+    private void closeJournal() {
+        try {
+            worker.submit(() -> {
+                if (journal != null) {
+                    try {
+                        journal.close();
+                    } catch (IOException ex) {
+                        System.err.println("Could not close journal: " + ex.getMessage());
+                    }
+                    journal = null;
+                }
+            }).get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            System.err.println("Could not close journal: " + ex.getCause());
+        }
+    }
+
+    private void appendData(int data) {
+        if (journal != null) journal.appendNode(data);
+        else list.appendNode(data);
+    }
+
+    private void updateData(int position, int newData) {
+        if (journal != null) journal.updateNode(position, newData);
+        else list.updateNode(position, newData);
+    }
+
+    private void deleteData(int position) {
+        if (journal != null) journal.deleteNode(position);
+        else list.deleteNode(position);
+    }
+
+    private void appendAllData(int[] values, int offset, int count) {
+        if (journal != null) journal.appendAll(values, offset, count);
+        else list.appendAll(values, offset, count);
+    }
+
+    private void insertAllData(int position, int[] values) {
+        if (journal != null) journal.insertAll(position, values, 0, values.length);
+        else list.insertAll(position, values);
+    }
+
+    private void updateRangeData(int from, int[] values) {
+        if (journal != null) journal.updateRange(from, values, 0, values.length);
+        else list.updateRange(from, values);
+    }
+
+    private void deleteRangeData(int from, int to) {
+        if (journal != null) journal.deleteRange(from, to);
+        else list.deleteRange(from, to);
+    }
+
+    private void sortData(Node[] order) {
+        list.applySort(order);
+        if (journal != null) journal.sorted();
+    }
+
+    // The journal logs positions, so with durability on the node found by
+    // value is turned back into a position first
+    private boolean deleteValueData(int value) {
+        if (journal == null) return list.deleteByValue(value);
+        Node node = list.findByValue(value);
+        if (node == null) return false;
+        journal.deleteNode(list.positionOf(node));
+        return true;
+    }
+
+    private boolean updateValueData(int value, int newData) {
+        if (journal == null) return list.updateByValue(value, newData);
+        Node node = list.findByValue(value);
+        if (node == null) return false;
+        journal.updateNode(list.positionOf(node), newData);
+        return true;
+    }
+
+    private String valueIndexSummary() {
+        if (!list.hasValueIndex()) return "No value index (start with -Ddoublylinkedlist.valueIndex=true)";
+        long bytes = list.valueIndexBytes();
+        return String.format("Value index: %.1f KB, %.1f bytes per node", bytes / 1024.0, list.length() == 0 ? 0.0 : (double) bytes / list.length());
+    }
+
+    private static int[] parseValues(String text) {
+        String[] parts = text.trim().split("[,\\s]+");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Integer.parseInt(parts[i]);
+        }
+        return values;
+    }
+
+    private static int[] parseRange(String text) {
+        String trimmed = text.trim();
+        int dash = trimmed.indexOf('-', 1);
+        if (dash < 0) {
+            int position = Integer.parseInt(trimmed);
+            return new int[]{position, position};
+        }
+        int from = Integer.parseInt(trimmed.substring(0, dash).trim());
+        int to = Integer.parseInt(trimmed.substring(dash + 1).trim());
+        if (to < from) throw new NumberFormatException("Empty range: " + trimmed);
+        return new int[]{from, to};
+    }
+
+    private static String joinValues(int[] values, int count, int total) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(values[i]);
         }
+        if (total > count) sb.append(" ... (").append(total - count).append(" more)");
+        return sb.toString();
+    }
+
+    private void showMessageLater(String message) {
+        SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this, message));
+    }
+
+    private void submit(Runnable operation) {
+        inFlight.incrementAndGet();
+        worker.execute(() -> {
+            try {
+                operation.run();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
     }
 
     private void refreshDisplay() {
-        displayArea.setText("");
-        Node current = list.head;
-        StringBuilder displayText = new StringBuilder("Doubly Linked List: ");
-        while (current != null) {
-            displayText.append(current.data).append(" <-> ");
-            current = current.next;
+        int length = listModel.flush();
+        summaryLabel.setText("Doubly Linked List: " + length + " nodes");
+        int pending = inFlight.get();
+        statusLabel.setText(pending == 0 ? "Idle" : pending + " operation(s) in flight");
+        if (statsModel != null && ++framesSinceStats >= STATS_FRAMES) {
+            framesSinceStats = 0;
+            statsModel.refresh();
+        }
+    }
+
+    private DoublyLinkedList newList() {
+        DoublyLinkedList created = stats != null ? new InstrumentedDoublyLinkedList(stats) : new DoublyLinkedList();
+        if (Boolean.getBoolean("doublylinkedlist.valueIndex")) created.enableValueIndex();
+        return created;
+    }
+
+    private class ListViewModel extends AbstractListModel<String> {
+        private int rowCount;
+        // Guarded by listLock
+        private boolean dirty;
+        private int firstChangedPosition = Integer.MAX_VALUE;
+        private Node cursor;
+        private int cursorPosition;
+
+        public int getSize() {
+            return rowCount;
+        }
+
+        public String getElementAt(int index) {
+            int position = index + 1;
+            synchronized (listLock) {
+                if (position > list.length()) return "";
+                return position + ": " + nodeAt(position).data;
+            }
+        }
+
+        void markAppended() {
+            dirty = true;
+        }
+
+        void markChanged(int position) {
+            dirty = true;
+            firstChangedPosition = Math.min(firstChangedPosition, Math.max(position, 1));
+            cursor = null;
+        }
+
+        int flush() {
+            int newCount;
+            int firstChanged;
+            synchronized (listLock) {
+                if (!dirty) return rowCount;
+                newCount = list.length();
+                firstChanged = firstChangedPosition - 1;
+                dirty = false;
+                firstChangedPosition = Integer.MAX_VALUE;
+            }
+            int oldCount = rowCount;
+            rowCount = newCount;
+            if (newCount > oldCount) fireIntervalAdded(this, oldCount, newCount - 1);
+            if (newCount < oldCount) fireIntervalRemoved(this, newCount, oldCount - 1);
+            int lastCommon = Math.min(oldCount, newCount) - 1;
+            if (firstChanged <= lastCommon) fireContentsChanged(this, firstChanged, lastCommon);
+            return newCount;
+        }
+
+        // Seeks with list.nodeAt, not readNode, so painting stays out of the read stats
+        private Node nodeAt(int position) {
+            int distanceToEnd = Math.min(position - 1, list.length() - position);
+            if (cursor != null && Math.abs(position - cursorPosition) < distanceToEnd) {
+                while (cursorPosition < position) {
+                    cursor = cursor.next;
+                    cursorPosition++;
+                }
+                while (cursorPosition > position) {
+                    cursor = cursor.prev;
+                    cursorPosition--;
+                }
+            } else {
+                cursor = list.nodeAt(position);
+                cursorPosition = position;
+            }
+            return cursor;
+        }
+    }
+
+    private class BatchAppender implements IntConsumer {
+        private final int[] batch = new int[BULK_CHUNK];
+        private int count;
+        private long appended;
+
+        public void accept(int value) {
+            batch[count++] = value;
+            if (count == batch.length) flush();
+        }
+
+        void flush() {
+            synchronized (listLock) {
+                appendAllData(batch, 0, count);
+                listModel.markAppended();
+            }
+            appended += count;
+            count = 0;
         }
-        displayText.append("null");
-        displayArea.setText(displayText.toString());
     }
 
     public static void main(String[] args) {
@@ -129,63 +643,212 @@ public class DoublyLinkedListGUI extends JFrame {
     }
 }
 
-class DoublyLinkedList {
-    protected Node head;
+class InstrumentedDoublyLinkedList extends DoublyLinkedList {
+    static final String[] OPERATIONS = {"appendNode", "readNode", "updateNode", "deleteNode"};
+    private static final int APPEND = 0;
+    private static final int READ = 1;
+    private static final int UPDATE = 2;
+    private static final int DELETE = 3;
+
+    private final OpStats stats;
+
+    InstrumentedDoublyLinkedList(OpStats stats) {
+        this.stats = stats;
+    }
 
+    @Override
     protected void appendNode(int data) {
-        if (head == null) {
-            head = new Node(data, null, null);
+        long start = System.nanoTime();
+        super.appendNode(data);
+        stats.record(APPEND, System.nanoTime() - start, 0);
+    }
+
+    @Override
+    protected Node readNode(int position) {
+        long steps = stepsTo(position);
+        long start = System.nanoTime();
+        Node node = super.readNode(position);
+        stats.record(READ, System.nanoTime() - start, steps);
+        return node;
+    }
+
+    @Override
+    protected void updateNode(int position, int newData) {
+        long steps = stepsTo(position);
+        long start = System.nanoTime();
+        super.updateNode(position, newData);
+        stats.record(UPDATE, System.nanoTime() - start, steps);
+    }
+
+    @Override
+    protected void deleteNode(int position) {
+        long steps = stepsTo(position);
+        long start = System.nanoTime();
+        super.deleteNode(position);
+        stats.record(DELETE, System.nanoTime() - start, steps);
+    }
+
+    private long stepsTo(int position) {
+        if (position < 1 || position > size) return 0;
+        return position <= size / 2 + 1 ? position - 1 : size - position;
+    }
+}
+
+// Doubly linked list whose nodes live outside the Java heap. Each node is
+// 12 bytes (data, prev, next) in a direct ByteBuffer chunk; links are node
+// indexes and the arena grows one chunk at a time, so the GC only ever sees
+// the handful of chunk buffers. close() drops the chunks and makes every
+// later call throw IllegalStateException, but it does not free the native
+// memory deterministically: that happens when the GC collects the buffers.
+class OffHeapDoublyLinkedList implements AutoCloseable {
+    static final int NIL = -1;
+    private static final int NODE_BYTES = 12;
+    private static final int DATA = 0;
+    private static final int PREV = 4;
+    private static final int NEXT = 8;
+    private static final int CHUNK_SHIFT = 16;
+    private static final int CHUNK_NODES = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_NODES - 1;
+
+    private ArrayList<ByteBuffer> chunks = new ArrayList<>();
+    private int head = NIL;
+    private int tail = NIL;
+    private int freeHead = NIL;
+    private int used;
+    private int size;
+
+    protected void appendNode(int data) {
+        int node = allocate();
+        setData(node, data);
+        setPrev(node, tail);
+        setNext(node, NIL);
+        if (tail == NIL) {
+            head = node;
         } else {
-            Node current = head;
-            while (current.next != null) {
-                current = current.next;
-            }
-            current.next = new Node(data, null, current);
+            setNext(tail, node);
         }
+        tail = node;
+        size++;
     }
 
-    protected Node readNode(int position) {
-        Node current = head;
-        int count = 1;
-        while (current != null && count < position) {
-            current = current.next;
-            count++;
+    protected int readNode(int position) {
+        checkOpen();
+        if (position < 1 || position > size) return NIL;
+
+        int current;
+        if (position <= size / 2 + 1) {
+            current = head;
+            for (int count = 1; count < position; count++) {
+                current = next(current);
+            }
+        } else {
+            current = tail;
+            for (int count = size; count > position; count--) {
+                current = prev(current);
+            }
         }
-        return (count == position) ? current : null;
+        return current;
     }
 
     protected void updateNode(int position, int newData) {
-        Node nodeToUpdate = readNode(position);
-        if (nodeToUpdate != null) {
-            nodeToUpdate.data = newData;
+        int nodeToUpdate = readNode(position);
+        if (nodeToUpdate != NIL) {
+            setData(nodeToUpdate, newData);
         }
     }
 
     protected void deleteNode(int position) {
-        if (head == null) return;
+        int nodeToDelete = readNode(position);
+        if (nodeToDelete == NIL) return;
 
-        Node nodeToDelete = readNode(position);
-        if (nodeToDelete != null) {
-            if (nodeToDelete.prev != null) {
-                nodeToDelete.prev.next = nodeToDelete.next;
-            } else {
-                head = nodeToDelete.next;
-            }
-            if (nodeToDelete.next != null) {
-                nodeToDelete.next.prev = nodeToDelete.prev;
-            }
+        int before = prev(nodeToDelete);
+        int after = next(nodeToDelete);
+        if (before != NIL) {
+            setNext(before, after);
+        } else {
+            head = after;
+        }
+        if (after != NIL) {
+            setPrev(after, before);
+        } else {
+            tail = before;
         }
+        setNext(nodeToDelete, freeHead);
+        freeHead = nodeToDelete;
+        size--;
+    }
+
+    protected int length() {
+        return size;
+    }
+
+    protected int first() {
+        checkOpen();
+        return head;
     }
-}
 
-class Node {
-    int data;
-    Node next;
-    Node prev;
+    protected int data(int node) {
+        return chunk(node).getInt(offset(node) + DATA);
+    }
+
+    protected int next(int node) {
+        return chunk(node).getInt(offset(node) + NEXT);
+    }
+
+    protected int prev(int node) {
+        return chunk(node).getInt(offset(node) + PREV);
+    }
+
+    // Native bytes reserved by the arena
+    protected long reservedBytes() {
+        checkOpen();
+        return (long) chunks.size() * CHUNK_NODES * NODE_BYTES;
+    }
+
+    // Drops the arena for the GC to reclaim; the list cannot be used afterwards
+    @Override
+    public void close() {
+        chunks = null;
+        head = tail = freeHead = NIL;
+        used = size = 0;
+    }
 
-    Node(int data, Node next, Node prev) {
-        this.data = data;
-        this.next = next;
-        this.prev = prev;
+    private void setData(int node, int value) {
+        chunk(node).putInt(offset(node) + DATA, value);
+    }
+
+    private void setNext(int node, int value) {
+        chunk(node).putInt(offset(node) + NEXT, value);
+    }
+
+    private void setPrev(int node, int value) {
+        chunk(node).putInt(offset(node) + PREV, value);
+    }
+
+    private ByteBuffer chunk(int node) {
+        checkOpen();
+        return chunks.get(node >>> CHUNK_SHIFT);
+    }
+
+    private static int offset(int node) {
+        return (node & CHUNK_MASK) * NODE_BYTES;
+    }
+
+    private void checkOpen() {
+        if (chunks == null) throw new IllegalStateException("Off-heap list is closed");
+    }
+
+    // Reuse a freed node if there is one, otherwise carve one from the arena
+    private int allocate() {
+        checkOpen();
+        if (freeHead != NIL) {
+            int node = freeHead;
+            freeHead = next(node);
+            return node;
+        }
+        if (used == chunks.size() * CHUNK_NODES) {
+            chunks.add(ByteBuffer.allocateDirect(CHUNK_NODES * NODE_BYTES).order(ByteOrder.nativeOrder()));
+        }
+        return used++;
     }
 }
@@ -0,0 +1,128 @@
+package dsa;
+
+import java.util.Random;
+
+// Indexable skip list with the same 1-based positional API as LinkedList.
+// Every forward link also stores its width (how many level-0 steps it skips),
+// so append, read, update and delete by position are O(log n) expected.
+// The GUIs stay on LinkedList; this engine is for ListBenchmark and can be
+// replayed against with OpScript.
+class IndexableSkipList {
+    private static final int MAX_LEVEL = 32;
+
+    private final SkipNode header = new SkipNode(0, MAX_LEVEL);
+    private final SkipNode[] update = new SkipNode[MAX_LEVEL];
+    private final int[] updatePosition = new int[MAX_LEVEL];
+    private final Random random = new Random();
+    private int level = 1;
+    private int size;
+
+    // Append node at the end
+    protected void appendNode(int data) {
+        insertNode(size + 1, data);
+    }
+
+    // Insert node so that it ends up at the given position (1..length() + 1)
+    protected void insertNode(int position, int data) {
+        if (position < 1 || position > size + 1) return;
+
+        findPredecessors(position);
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                update[i] = header;
+                updatePosition[i] = 0;
+                header.width[i] = size + 1;
+            }
+            level = nodeLevel;
+        }
+
+        SkipNode newNode = new SkipNode(data, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            SkipNode before = update[i];
+            int stepsBefore = position - updatePosition[i];
+            newNode.forward[i] = before.forward[i];
+            newNode.width[i] = before.width[i] - stepsBefore + 1;
+            before.forward[i] = newNode;
+            before.width[i] = stepsBefore;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].width[i]++;
+        }
+        size++;
+    }
+
+    // Read node by position
+    protected SkipNode readNode(int position) {
+        if (position < 1 || position > size) return null;
+
+        SkipNode current = header;
+        int currentPosition = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            while (current.forward[i] != null && currentPosition + current.width[i] <= position) {
+                currentPosition += current.width[i];
+                current = current.forward[i];
+            }
+            if (currentPosition == position) break;
+        }
+        return current;
+    }
+
+    // Update node by position
+    protected void updateNode(int position, int newData) {
+        SkipNode nodeToUpdate = readNode(position);
+        if (nodeToUpdate != null) {
+            nodeToUpdate.data = newData;
+        }
+    }
+
+    // Delete node by position
+    protected void deleteNode(int position) {
+        if (position < 1 || position > size) return;
+
+        findPredecessors(position);
+        SkipNode nodeToDelete = update[0].forward[0];
+        for (int i = 0; i < level; i++) {
+            SkipNode before = update[i];
+            if (before.forward[i] == nodeToDelete) {
+                before.width[i] += nodeToDelete.width[i] - 1;
+                before.forward[i] = nodeToDelete.forward[i];
+            } else {
+                before.width[i]--;
+            }
+        }
+        while (level > 1 && header.forward[level - 1] == null) {
+            level--;
+        }
+        size--;
+    }
+
+    protected int length() {
+        return size;
+    }
+
+    // First node in list order; follow SkipNode.next() for cheap in-order iteration
+    protected SkipNode first() {
+        return header.forward[0];
+    }
+
+    // Fill update[] with the last node before the position on every level
+    private void findPredecessors(int position) {
+        SkipNode current = header;
+        int currentPosition = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            while (current.forward[i] != null && currentPosition + current.width[i] < position) {
+                currentPosition += current.width[i];
+                current = current.forward[i];
+            }
+            update[i] = current;
+            updatePosition[i] = currentPosition;
+        }
+    }
+
+    // Geometric level with p = 1/2, capped at MAX_LEVEL
+    private int randomLevel() {
+        int nodeLevel = Integer.numberOfTrailingZeros(random.nextInt() | (1 << (MAX_LEVEL - 1))) + 1;
+        return Math.min(nodeLevel, MAX_LEVEL);
+    }
+}
@@ -0,0 +1,222 @@
+package dsa;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntConsumer;
+
+// Bulk import and export of int data for the lists and queues. Files are
+// read through memory-mapped windows and written through a FileChannel with
+// one reusable direct buffer, so a multi-GB file never has to fit on the
+// heap. Values go straight into an IntConsumer such as list::appendNode or
+// queue::enqueue.
+//
+// Binary files are a flat sequence of 4-byte big-endian ints. Text files
+// hold one integer per line (any run of whitespace or commas separates
+// values) and are parsed byte by byte without creating Strings.
+class IntFileIO {
+    private static final long MAP_WINDOW = 256L << 20;
+    private static final int WRITE_BUFFER = 1 << 20;
+
+    // Anything that can hand its values to a consumer in order
+    interface IntSource {
+        void forEach(IntConsumer action);
+    }
+
+    // Outcome of one import or export
+    static final class Transfer {
+        final long values;
+        final long bytes;
+        final long nanos;
+
+        Transfer(long values, long bytes, long nanos) {
+            this.values = values;
+            this.bytes = bytes;
+            this.nanos = nanos;
+        }
+
+        double megabytesPerSecond() {
+            return nanos == 0 ? 0 : (bytes / (1024.0 * 1024.0)) / (nanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d values, %.1f MB in %.2f s (%.1f MB/s)",
+                    values, bytes / (1024.0 * 1024.0), nanos / 1e9, megabytesPerSecond());
+        }
+    }
+
+    private IntFileIO() {
+    }
+
+    // Text files are recognized by extension, everything else is binary
+    static boolean isTextFile(Path path) {
+        String name = path.getFileName().toString().toLowerCase();
+        return name.endsWith(".txt") || name.endsWith(".csv");
+    }
+
+    static Transfer load(Path path, IntConsumer sink) throws IOException {
+        return isTextFile(path) ? loadText(path, sink) : loadBinary(path, sink);
+    }
+
+    static Transfer export(Path path, IntSource source) throws IOException {
+        return isTextFile(path) ? exportText(path, source) : exportBinary(path, source);
+    }
+
+    static Transfer loadBinary(Path path, IntConsumer sink) throws IOException {
+        long start = System.nanoTime();
+        long values = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % Integer.BYTES != 0) throw new IOException("Binary int file length is not a multiple of 4: " + path);
+            for (long position = 0; position < size; position += MAP_WINDOW) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_WINDOW, size - position));
+                window.order(ByteOrder.BIG_ENDIAN);
+                while (window.remaining() >= Integer.BYTES) {
+                    sink.accept(window.getInt());
+                    values++;
+                }
+            }
+            return new Transfer(values, size, System.nanoTime() - start);
+        }
+    }
+
+    static Transfer loadText(Path path, IntConsumer sink) throws IOException {
+        return loadText(path, sink, MAP_WINDOW);
+    }
+
+    // Parse state carries across window boundaries, so a number may be split
+    // between two mappings; tests pass a small window to exercise that
+    static Transfer loadText(Path path, IntConsumer sink, long mapWindow) throws IOException {
+        long start = System.nanoTime();
+        long values = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long value = 0;
+            boolean negative = false;
+            boolean inNumber = false;
+            for (long position = 0; position < size; position += mapWindow) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(mapWindow, size - position));
+                int limit = window.limit();
+                for (int i = 0; i < limit; i++) {
+                    byte b = window.get(i);
+                    if (b >= '0' && b <= '9') {
+                        value = value * 10 + (b - '0');
+                        if (value > 1L + Integer.MAX_VALUE) throw new IOException("Integer out of range near byte " + (position + i));
+                        inNumber = true;
+                    } else if (b == '-' && !inNumber && !negative) {
+                        negative = true;
+                    } else if (b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == ',') {
+                        if (inNumber) {
+                            sink.accept(toInt(value, negative, position + i));
+                            values++;
+                        } else if (negative) {
+                            throw new IOException("Dangling '-' near byte " + (position + i));
+                        }
+                        value = 0;
+                        negative = false;
+                        inNumber = false;
+                    } else {
+                        throw new IOException("Unexpected byte '" + (char) b + "' at offset " + (position + i));
+                    }
+                }
+            }
+            if (inNumber) {
+                sink.accept(toInt(value, negative, size));
+                values++;
+            } else if (negative) {
+                throw new IOException("Dangling '-' near byte " + size);
+            }
+            return new Transfer(values, size, System.nanoTime() - start);
+        }
+    }
+
+    static Transfer exportBinary(Path path, IntSource source) throws IOException {
+        long start = System.nanoTime();
+        try (BufferedIntWriter writer = new BufferedIntWriter(path)) {
+            source.forEach(writer::writeBinary);
+            writer.flush();
+            return new Transfer(writer.values, writer.bytes, System.nanoTime() - start);
+        }
+    }
+
+    static Transfer exportText(Path path, IntSource source) throws IOException {
+        long start = System.nanoTime();
+        try (BufferedIntWriter writer = new BufferedIntWriter(path)) {
+            source.forEach(writer::writeText);
+            writer.flush();
+            return new Transfer(writer.values, writer.bytes, System.nanoTime() - start);
+        }
+    }
+
+    private static int toInt(long value, boolean negative, long offset) throws IOException {
+        long signed = negative ? -value : value;
+        if (signed > Integer.MAX_VALUE || signed < Integer.MIN_VALUE) throw new IOException("Integer out of range near byte " + offset);
+        return (int) signed;
+    }
+
+    // Fills a direct buffer and hands it to the channel when full. IntConsumer
+    // cannot throw checked exceptions, so write failures are rethrown from
+    // flush() or close().
+    private static final class BufferedIntWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER).order(ByteOrder.BIG_ENDIAN);
+        private final byte[] digits = new byte[11];
+        private IOException failure;
+        long values;
+        long bytes;
+
+        BufferedIntWriter(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        void writeBinary(int value) {
+            if (buffer.remaining() < Integer.BYTES) drain();
+            buffer.putInt(value);
+            values++;
+        }
+
+        void writeText(int value) {
+            if (buffer.remaining() < digits.length + 1) drain();
+            long remaining = Math.abs((long) value);
+            int length = 0;
+            do {
+                digits[length++] = (byte) ('0' + remaining % 10);
+                remaining /= 10;
+            } while (remaining != 0);
+            if (value < 0) buffer.put((byte) '-');
+            while (length > 0) {
+                buffer.put(digits[--length]);
+            }
+            buffer.put((byte) '\n');
+            values++;
+        }
+
+        void flush() throws IOException {
+            drain();
+            if (failure != null) throw failure;
+        }
+
+        private void drain() {
+            buffer.flip();
+            try {
+                while (buffer.hasRemaining()) {
+                    bytes += channel.write(buffer);
+                }
+            } catch (IOException e) {
+                if (failure == null) failure = e;
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+            if (failure != null) throw failure;
+        }
+    }
+}
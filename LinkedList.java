@@ -0,0 +1,298 @@
+package dsa;
+
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+class LinkedList implements Iterable<Integer> {
+    protected Node head;
+    protected Node tail;
+    protected int size;
+    // Bumped by every structural change, for the fail-fast iterators
+    protected int modCount;
+
+    // Append node at the end, O(1) through the tail reference
+    protected void appendNode(int data) {
+        Node newNode = new Node(data, null, tail);
+        if (tail == null) {
+            head = newNode;
+        } else {
+            tail.next = newNode;
+        }
+        tail = newNode;
+        size++;
+        modCount++;
+    }
+
+    // Number of nodes, kept up to date by append and delete
+    protected int length() {
+        return size;
+    }
+
+    // Read node by position, null when there is none. Every list follows this
+    // contract: insert, update and delete ignore a position out of range, and
+    // readNode reports it with no node (null, or NIL for the index-linked
+    // lists). SnapshotList and UnrolledLinkedList hand out the value itself,
+    // which leaves no int free to mean "none", so their readNode throws
+    // IndexOutOfBoundsException instead and callers check length() first.
+    protected Node readNode(int position) {
+        return nodeAt(position);
+    }
+
+    // Walk to the node at a position from whichever end is closer. readNode,
+    // updateNode and deleteNode all come through here, so a subclass can wrap
+    // each of them without counting the others.
+    final Node nodeAt(int position) {
+        if (position < 1 || position > size) return null;
+
+        Node current;
+        if (position <= size / 2 + 1) {
+            current = head;
+            for (int count = 1; count < position; count++) {
+                current = current.next;
+            }
+        } else {
+            current = tail;
+            for (int count = size; count > position; count--) {
+                current = current.prev;
+            }
+        }
+        return current;
+    }
+
+    // Update node by position
+    protected void updateNode(int position, int newData) {
+        Node nodeToUpdate = nodeAt(position);
+        if (nodeToUpdate != null) {
+            nodeToUpdate.data = newData;
+        }
+    }
+
+    // Delete node by position
+    protected void deleteNode(int position) {
+        if (head == null) return;
+
+        Node nodeToDelete = nodeAt(position);
+        if (nodeToDelete != null) {
+            if (nodeToDelete.prev != null) {
+                nodeToDelete.prev.next = nodeToDelete.next;
+            } else {
+                head = nodeToDelete.next;
+            }
+            if (nodeToDelete.next != null) {
+                nodeToDelete.next.prev = nodeToDelete.prev;
+            } else {
+                tail = nodeToDelete.prev;
+            }
+            size--;
+            modCount++;
+        }
+    }
+
+    // Append values at the end, linked in as one chain
+    protected void appendAll(int[] values) {
+        insertAll(size + 1, values, 0, values.length);
+    }
+
+    protected void appendAll(int[] values, int offset, int count) {
+        insertAll(size + 1, values, offset, count);
+    }
+
+    // Insert values so that the first ends up at the given position (1..length() + 1);
+    // the new nodes are chained first and spliced in with one relink
+    protected void insertAll(int position, int[] values) {
+        insertAll(position, values, 0, values.length);
+    }
+
+    protected void insertAll(int position, int[] values, int offset, int count) {
+        if (position < 1 || position > size + 1 || count <= 0) return;
+
+        Node after = position == size + 1 ? null : nodeAt(position);
+        Node before = after == null ? tail : after.prev;
+        Node first = new Node(values[offset], null, before);
+        Node last = first;
+        for (int i = 1; i < count; i++) {
+            Node node = new Node(values[offset + i], null, last);
+            last.next = node;
+            last = node;
+        }
+        if (before == null) {
+            head = first;
+        } else {
+            before.next = first;
+        }
+        last.next = after;
+        if (after == null) {
+            tail = last;
+        } else {
+            after.prev = last;
+        }
+        size += count;
+        modCount++;
+    }
+
+    // Delete positions from..to inclusive: find both ends in one walk, then
+    // cut the whole run out with one relink
+    protected void deleteRange(int from, int to) {
+        if (from < 1 || to > size || from > to) return;
+
+        Node first;
+        Node last;
+        if (from - 1 <= size - to) {
+            first = nodeAt(from);
+            last = first;
+            for (int position = from; position < to; position++) {
+                last = last.next;
+            }
+        } else {
+            last = nodeAt(to);
+            first = last;
+            for (int position = to; position > from; position--) {
+                first = first.prev;
+            }
+        }
+        if (first.prev != null) {
+            first.prev.next = last.next;
+        } else {
+            head = last.next;
+        }
+        if (last.next != null) {
+            last.next.prev = first.prev;
+        } else {
+            tail = first.prev;
+        }
+        size -= to - from + 1;
+        modCount++;
+    }
+
+    // Overwrite values.length nodes starting at from; does nothing unless the
+    // whole range exists
+    protected void updateRange(int from, int[] values) {
+        updateRange(from, values, 0, values.length);
+    }
+
+    protected void updateRange(int from, int[] values, int offset, int count) {
+        if (from < 1 || count <= 0 || from - 1 + count > size) return;
+
+        Node current = nodeAt(from);
+        for (int i = 0; i < count; i++) {
+            current.data = values[offset + i];
+            current = current.next;
+        }
+    }
+
+    // Copy positions from..to into out and return how many were copied; stops
+    // at the end of the list or of out
+    protected int readRange(int from, int to, int[] out) {
+        if (from < 1 || from > size || from > to) return 0;
+
+        int count = Math.min(Math.min(to, size) - from + 1, out.length);
+        Node current = nodeAt(from);
+        for (int i = 0; i < count; i++) {
+            out[i] = current.data;
+            current = current.next;
+        }
+        return count;
+    }
+
+    // Stable ascending sort that relinks the nodes in place, O(n log n)
+    // time and O(1) extra space
+    protected void sort() {
+        if (size < 2) return;
+        head = NodeSort.sort(head, size);
+        tail = NodeSort.linkPrev(head);
+        modCount++;
+    }
+
+    // Sort runs of the list on a fork/join pool, then merge them; small
+    // lists fall back to sort()
+    protected void parallelSort() {
+        parallelSort(ForkJoinPool.commonPool());
+    }
+
+    protected void parallelSort(ForkJoinPool pool) {
+        if (size < 2) return;
+        head = NodeSort.parallelSort(head, size, pool);
+        tail = NodeSort.linkPrev(head);
+        modCount++;
+    }
+
+    // First half of a sort that leaves the list readable meanwhile: the
+    // nodes in sorted order, found by reading the list only. Hand the result
+    // to applySort before anything else changes the list.
+    protected Node[] sortedOrder() {
+        return NodeSort.sortedOrder(head, size);
+    }
+
+    // Second half: relink the nodes in the given order, O(n)
+    protected void applySort(Node[] order) {
+        if (order.length != size) throw new IllegalStateException("List changed since sortedOrder()");
+        if (size < 2) return;
+        NodeSort.relink(order);
+        head = order[0];
+        tail = order[size - 1];
+        modCount++;
+    }
+
+    // Values in list order, without boxing; fails fast on structural changes
+    public PrimitiveIterator.OfInt iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return new NodeSpliterator(head, size, modCount, () -> modCount);
+    }
+
+    // Values in list order; call parallel() to spread an aggregate over the
+    // common fork/join pool
+    protected IntStream stream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    // Adapter that lets ListJournal log changes to this list and replay them
+    // into it on recovery
+    ListJournal.Target journalTarget() {
+        return new ListJournal.Target() {
+            public void appendNode(int data) {
+                LinkedList.this.appendNode(data);
+            }
+
+            public void updateNode(int position, int newData) {
+                LinkedList.this.updateNode(position, newData);
+            }
+
+            public void deleteNode(int position) {
+                LinkedList.this.deleteNode(position);
+            }
+
+            public void insertAll(int position, int[] values, int offset, int count) {
+                LinkedList.this.insertAll(position, values, offset, count);
+            }
+
+            public void updateRange(int from, int[] values, int offset, int count) {
+                LinkedList.this.updateRange(from, values, offset, count);
+            }
+
+            public void deleteRange(int from, int to) {
+                LinkedList.this.deleteRange(from, to);
+            }
+
+            public void sort() {
+                parallelSort();
+            }
+
+            public int length() {
+                return LinkedList.this.length();
+            }
+
+            public void forEach(IntConsumer action) {
+                spliterator().forEachRemaining(action);
+            }
+        };
+    }
+}
@@ -1,30 +1,82 @@
+package dsa;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
 
 public class LinkedListGUI extends JFrame {
+    private static final int FRAME_MILLIS = 16;
+    private static final int BULK_COUNT = 1_000_000;
+    private static final int BULK_CHUNK = 10_000;
+    private static final int STATS_FRAMES = 30;
+    private static final int READ_PREVIEW = 50;
+
+    private final Object listLock = new Object();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "linked-list-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
     private LinkedList list;
-    private JTextArea displayArea;
+    private ListViewModel listModel;
+    private JLabel summaryLabel;
+    private JLabel statusLabel;
     private JTextField inputField;
     private JTextField positionField;
+    // Worker thread only; null unless durability is turned on
+    private ListJournal journal;
+    // Null unless started with -Ddsa.stats=true
+    private final OpStats stats = OpStats.ENABLED ? new OpStats("LinkedList", InstrumentedLinkedList.OPERATIONS) : null;
+    private OpStats.TableModel statsModel;
+    private int framesSinceStats;
 
     public LinkedListGUI() {
-        list = new LinkedList();
+        list = newList();
         initializeGUI();
+        String journalDirectory = System.getProperty("linkedlist.journal");
+        if (journalDirectory != null) {
+            openJournal(Paths.get(journalDirectory));
+        }
     }
 
     private void initializeGUI() {
         // Set up the frame
         setTitle("Linked List GUI");
-        setSize(400, 400);
+        setSize(640, 400);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                closeJournal();
+                if (stats != null) stats.unregisterMBeans();
+            }
+        });
         setLayout(new BorderLayout());
 
-        // Display area for linked list data
-        displayArea = new JTextArea();
-        displayArea.setEditable(false);
-        add(new JScrollPane(displayArea), BorderLayout.CENTER);
+        // Virtualized view of the linked list, only visible rows are rendered
+        listModel = new ListViewModel();
+        JList<String> displayList = new JList<>(listModel);
+        displayList.setPrototypeCellValue("0000000: -0000000000");
+        summaryLabel = new JLabel();
+        statusLabel = new JLabel();
+        JPanel displayPanel = new JPanel(new BorderLayout());
+        displayPanel.add(summaryLabel, BorderLayout.NORTH);
+        displayPanel.add(new JScrollPane(displayList), BorderLayout.CENTER);
+        displayPanel.add(statusLabel, BorderLayout.SOUTH);
+        add(displayPanel, BorderLayout.CENTER);
 
         // Input fields and buttons panel
         JPanel inputPanel = new JPanel();
@@ -33,7 +85,8 @@ public class LinkedListGUI extends JFrame {
         // Panel for data input and append button
         JPanel addPanel = new JPanel();
         addPanel.setLayout(new FlowLayout());
-        inputField = new JTextField(5);
+        inputField = new JTextField(8);
+        inputField.setToolTipText("One integer or a comma-separated list");
         JButton appendButton = new JButton("Append Node");
         appendButton.addActionListener(this::appendNodeCallback);
         addPanel.add(new JLabel("Data:"));
@@ -44,7 +97,8 @@ public class LinkedListGUI extends JFrame {
         // Panel for position input and read/update buttons
         JPanel positionPanel = new JPanel();
         positionPanel.setLayout(new FlowLayout());
-        positionField = new JTextField(5);
+        positionField = new JTextField(8);
+        positionField.setToolTipText("A position or a range such as 1000-2000");
         JButton readButton = new JButton("Read Node");
         readButton.addActionListener(this::readNodeCallback);
         JButton updateButton = new JButton("Update Node");
@@ -53,156 +107,537 @@ public class LinkedListGUI extends JFrame {
         positionPanel.add(positionField);
         positionPanel.add(readButton);
         positionPanel.add(updateButton);
+        JButton insertButton = new JButton("Insert");
+        insertButton.addActionListener(this::insertNodeCallback);
+        positionPanel.add(insertButton);
         inputPanel.add(positionPanel);
 
-        // Panel for delete button
+        // Panel for delete and bulk buttons
         JPanel deletePanel = new JPanel();
         JButton deleteButton = new JButton("Delete Node");
         deleteButton.addActionListener(this::deleteNodeCallback);
         deletePanel.add(deleteButton);
+        JButton bulkAppendButton = new JButton("Bulk Append 1M");
+        bulkAppendButton.addActionListener(this::bulkAppendCallback);
+        deletePanel.add(bulkAppendButton);
+        JButton importButton = new JButton("Import...");
+        importButton.addActionListener(this::importCallback);
+        deletePanel.add(importButton);
+        JButton exportButton = new JButton("Export...");
+        exportButton.addActionListener(this::exportCallback);
+        deletePanel.add(exportButton);
+        JButton sortButton = new JButton("Sort");
+        sortButton.addActionListener(this::sortCallback);
+        deletePanel.add(sortButton);
         inputPanel.add(deletePanel);
 
         add(inputPanel, BorderLayout.SOUTH);
 
-        // Display initial linked list (empty)
+        // Live per-operation stats, only when instrumentation is on
+        if (stats != null) {
+            statsModel = new OpStats.TableModel(stats);
+            JScrollPane statsPane = new JScrollPane(new JTable(statsModel));
+            statsPane.setPreferredSize(new Dimension(560, 0));
+            add(statsPane, BorderLayout.EAST);
+            setSize(getWidth() + 560, getHeight());
+            stats.registerMBeans();
+        }
+
+        // Repaint at most once per frame, however many operations completed
+        new Timer(FRAME_MILLIS, e -> refreshDisplay()).start();
         refreshDisplay();
     }
 
-    // Callback for appending a node
+    // Callback for appending one value or a comma-separated list
     private void appendNodeCallback(ActionEvent e) {
         try {
-            int data = Integer.parseInt(inputField.getText());
-            list.appendNode(data);
-            refreshDisplay();
+            int[] values = parseValues(inputField.getText());
+            submit(() -> {
+                synchronized (listLock) {
+                    if (values.length == 1) appendData(values[0]);
+                    else appendAllData(values, 0, values.length);
+                    listModel.markAppended();
+                }
+            });
             inputField.setText("");
         } catch (NumberFormatException ex) {
-            JOptionPane.showMessageDialog(this, "Please enter a valid integer.");
+            JOptionPane.showMessageDialog(this, "Please enter an integer or a comma-separated list of integers.");
         }
     }
 
-    // Callback for reading a node
+    // Callback for inserting one or more values at a position
+    private void insertNodeCallback(ActionEvent e) {
+        try {
+            int position = Integer.parseInt(positionField.getText().trim());
+            int[] values = parseValues(inputField.getText());
+            submit(() -> {
+                synchronized (listLock) {
+                    insertAllData(position, values);
+                    listModel.markChanged(position);
+                }
+            });
+            inputField.setText("");
+            positionField.setText("");
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Please enter a position and one or more integers.");
+        }
+    }
+
+    // Callback for reading a node or a range of nodes
     private void readNodeCallback(ActionEvent e) {
         try {
-            int position = Integer.parseInt(positionField.getText());
-            Node node = list.readNode(position);
-            if (node != null) {
-                JOptionPane.showMessageDialog(this, "Data at position " + position + ": " + node.data);
-            } else {
-                JOptionPane.showMessageDialog(this, "Node not found at position: " + position);
-            }
+            int[] range = parseRange(positionField.getText());
+            int from = range[0];
+            int to = range[1];
+            submit(() -> {
+                String message;
+                synchronized (listLock) {
+                    if (from == to) {
+                        Node node = list.readNode(from);
+                        message = (node != null)
+                                ? "Data at position " + from + ": " + node.data
+                                : "Node not found at position: " + from;
+                    } else {
+                        int[] values = new int[Math.min(to - from + 1, READ_PREVIEW)];
+                        int count = list.readRange(from, to, values);
+                        message = count == 0
+                                ? "No nodes in positions " + from + "-" + to
+                                : "Data at positions " + from + "-" + to + ": " + joinValues(values, count, Math.min(to, list.length()) - from + 1);
+                    }
+                }
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this, message));
+            });
         } catch (NumberFormatException ex) {
-            JOptionPane.showMessageDialog(this, "Please enter a valid position.");
+            JOptionPane.showMessageDialog(this, "Please enter a valid position or range.");
         }
     }
 
-    // Callback for updating a node
+    // Callback for updating a node, or a range from a list of values or a
+    // single value repeated over the range
     private void updateNodeCallback(ActionEvent e) {
         try {
-            int position = Integer.parseInt(positionField.getText());
-            int newData = Integer.parseInt(inputField.getText());
-            list.updateNode(position, newData);
-            refreshDisplay();
+            int[] range = parseRange(positionField.getText());
+            int from = range[0];
+            int[] values = parseValues(inputField.getText());
+            int rangeLength = range[1] - range[0] + 1;
+            if (rangeLength > 1 && values.length == 1) {
+                int value = values[0];
+                values = new int[rangeLength];
+                Arrays.fill(values, value);
+            } else if (rangeLength > 1 && values.length != rangeLength) {
+                JOptionPane.showMessageDialog(this, "Enter one value or " + rangeLength + " values for that range.");
+                return;
+            }
+            int[] newData = values;
+            submit(() -> {
+                synchronized (listLock) {
+                    if (newData.length == 1) updateData(from, newData[0]);
+                    else updateRangeData(from, newData);
+                    listModel.markChanged(from);
+                }
+            });
             inputField.setText("");
             positionField.setText("");
         } catch (NumberFormatException ex) {
-            JOptionPane.showMessageDialog(this, "Please enter valid integers for position and data.");
+            JOptionPane.showMessageDialog(this, "Please enter a position or range and one or more integers.");
         }
     }
 
-    // Callback for deleting a node
+    // Callback for deleting a node or a range of nodes
     private void deleteNodeCallback(ActionEvent e) {
         try {
-            int position = Integer.parseInt(positionField.getText());
-            list.deleteNode(position);
-            refreshDisplay();
+            int[] range = parseRange(positionField.getText());
+            int from = range[0];
+            int to = range[1];
+            submit(() -> {
+                synchronized (listLock) {
+                    if (from == to) deleteData(from);
+                    else deleteRangeData(from, to);
+                    listModel.markChanged(from);
+                }
+            });
             positionField.setText("");
         } catch (NumberFormatException ex) {
-            JOptionPane.showMessageDialog(this, "Please enter a valid position.");
+            JOptionPane.showMessageDialog(this, "Please enter a valid position or range.");
         }
     }
 
-    // Refresh the display area to show the current linked list
-    private void refreshDisplay() {
-        displayArea.setText("");
-        Node current = list.head;
-        StringBuilder displayText = new StringBuilder("Linked List: ");
-        while (current != null) {
-            displayText.append(current.data).append(" -> ");
-            current = current.next;
-        }
-        displayText.append("null");
-        displayArea.setText(displayText.toString());
+    // Callback for sorting the whole list. The worker is the only thread that
+    // changes the list, so it sorts the order on the fork/join pool without
+    // the lock and holds the lock only to relink the nodes.
+    private void sortCallback(ActionEvent e) {
+        submit(() -> {
+            long start = System.nanoTime();
+            Node[] order = list.sortedOrder();
+            synchronized (listLock) {
+                sortData(order);
+                listModel.markChanged(1);
+            }
+            showMessageLater(String.format("Sorted %d nodes in %.1f ms", order.length, (System.nanoTime() - start) / 1e6));
+        });
     }
 
-    public static void main(String[] args) {
-        SwingUtilities.invokeLater(() -> {
-            LinkedListGUI gui = new LinkedListGUI();
-            gui.setVisible(true);
+    // Callback for appending a million random values; the lock is released
+    // between chunks so the view keeps painting while the job runs
+    private void bulkAppendCallback(ActionEvent e) {
+        submit(() -> {
+            Random random = new Random();
+            int[] chunk = new int[BULK_CHUNK];
+            for (int done = 0; done < BULK_COUNT; done += BULK_CHUNK) {
+                for (int i = 0; i < BULK_CHUNK; i++) {
+                    chunk[i] = random.nextInt(1000);
+                }
+                synchronized (listLock) {
+                    appendAllData(chunk, 0, BULK_CHUNK);
+                    listModel.markAppended();
+                }
+            }
         });
     }
-}
 
-class LinkedList {
-    protected Node head;
+    // Callback for loading a binary or text int file onto the end of the list.
+    // Values read before a failure stay in the list and are counted in the message.
+    private void importCallback(ActionEvent e) {
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        Path path = chooser.getSelectedFile().toPath();
+        submit(() -> {
+            BatchAppender appender = new BatchAppender();
+            try {
+                IntFileIO.Transfer transfer = IntFileIO.load(path, appender);
+                appender.flush();
+                showMessageLater("Imported " + transfer);
+            } catch (IOException ex) {
+                appender.flush();
+                showMessageLater("Import failed after " + appender.appended + " values: " + ex.getMessage());
+            }
+        });
+    }
 
-    // Append node at the end
-    protected void appendNode(int data) {
-        if (head == null) {
-            head = new Node(data, null, null);
-        } else {
-            Node current = head;
-            while (current.next != null) {
-                current = current.next;
+    // Callback for writing the list to a binary or text int file. The worker is
+    // the only thread that changes the list, so it can walk it without the lock.
+    private void exportCallback(ActionEvent e) {
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        Path path = chooser.getSelectedFile().toPath();
+        submit(() -> {
+            try {
+                IntFileIO.Transfer transfer = IntFileIO.export(path, action -> list.spliterator().forEachRemaining(action));
+                showMessageLater("Exported " + transfer);
+            } catch (IOException ex) {
+                showMessageLater("Export failed: " + ex.getMessage());
             }
-            current.next = new Node(data, null, current);
+        });
+    }
+
+    // Durability mode: recover the list from the journal directory into a fresh
+    // list off the lock, then swap it in. Later operations are logged.
+    private void openJournal(Path directory) {
+        submit(() -> {
+            LinkedList recovered = newList();
+            try {
+                ListJournal opened = new ListJournal(directory, recovered.journalTarget(), ListJournal.FsyncPolicy.INTERVAL, 256, 1_000_000);
+                synchronized (listLock) {
+                    list = recovered;
+                    listModel.markChanged(1);
+                }
+                journal = opened;
+                showMessageLater(opened.recoveryReport());
+            } catch (IOException ex) {
+                showMessageLater("Could not open journal: " + ex.getMessage());
+            }
+        });
+    }
+
+    // Flush and close the journal once every queued operation has run
+    private void closeJournal() {
+        try {
+            worker.submit(() -> {
+                if (journal != null) {
+                    try {
+                        journal.close();
+                    } catch (IOException ex) {
+                        System.err.println("Could not close journal: " + ex.getMessage());
+                    }
+                    journal = null;
+                }
+            }).get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            System.err.println("Could not close journal: " + ex.getCause());
         }
     }
 
-    // Read node by position
-    protected Node readNode(int position) {
-        Node current = head;
-        int count = 1;
-        while (current != null && count < position) {
-            current = current.next;
-            count++;
+    // Apply a change to the list, through the journal when durability is on.
+    // Worker thread only, with listLock held.
+    private void appendData(int data) {
+        if (journal != null) journal.appendNode(data);
+        else list.appendNode(data);
+    }
+
+    private void updateData(int position, int newData) {
+        if (journal != null) journal.updateNode(position, newData);
+        else list.updateNode(position, newData);
+    }
+
+    private void deleteData(int position) {
+        if (journal != null) journal.deleteNode(position);
+        else list.deleteNode(position);
+    }
+
+    private void appendAllData(int[] values, int offset, int count) {
+        if (journal != null) journal.appendAll(values, offset, count);
+        else list.appendAll(values, offset, count);
+    }
+
+    private void insertAllData(int position, int[] values) {
+        if (journal != null) journal.insertAll(position, values, 0, values.length);
+        else list.insertAll(position, values);
+    }
+
+    private void updateRangeData(int from, int[] values) {
+        if (journal != null) journal.updateRange(from, values, 0, values.length);
+        else list.updateRange(from, values);
+    }
+
+    private void deleteRangeData(int from, int to) {
+        if (journal != null) journal.deleteRange(from, to);
+        else list.deleteRange(from, to);
+    }
+
+    private void sortData(Node[] order) {
+        list.applySort(order);
+        if (journal != null) journal.sorted();
+    }
+
+    // One integer or a comma-separated list such as "4, 8, 15"
+    private static int[] parseValues(String text) {
+        String[] parts = text.trim().split("[,\\s]+");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Integer.parseInt(parts[i]);
         }
-        return (count == position) ? current : null;
+        return values;
     }
 
-    // Update node by position
-    protected void updateNode(int position, int newData) {
-        Node nodeToUpdate = readNode(position);
-        if (nodeToUpdate != null) {
-            nodeToUpdate.data = newData;
+    // A single position such as "7" or an inclusive range such as "1000-2000"
+    private static int[] parseRange(String text) {
+        String trimmed = text.trim();
+        int dash = trimmed.indexOf('-', 1);
+        if (dash < 0) {
+            int position = Integer.parseInt(trimmed);
+            return new int[]{position, position};
         }
+        int from = Integer.parseInt(trimmed.substring(0, dash).trim());
+        int to = Integer.parseInt(trimmed.substring(dash + 1).trim());
+        if (to < from) throw new NumberFormatException("Empty range: " + trimmed);
+        return new int[]{from, to};
     }
 
-    // Delete node by position
-    protected void deleteNode(int position) {
-        if (head == null) return;
+    // Values for a message box, cut short after the preview
+    private static String joinValues(int[] values, int count, int total) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(values[i]);
+        }
+        if (total > count) sb.append(" ... (").append(total - count).append(" more)");
+        return sb.toString();
+    }
+
+    private void showMessageLater(String message) {
+        SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this, message));
+    }
+
+    // Queue an operation for the worker thread; the view catches up on the next frame
+    private void submit(Runnable operation) {
+        inFlight.incrementAndGet();
+        worker.execute(() -> {
+            try {
+                operation.run();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+
+    // Push the changes since the last frame to the view and refresh the labels
+    private void refreshDisplay() {
+        int length = listModel.flush();
+        summaryLabel.setText("Linked List: " + length + " nodes");
+        int pending = inFlight.get();
+        statusLabel.setText(pending == 0 ? "Idle" : pending + " operation(s) in flight");
+        if (statsModel != null && ++framesSinceStats >= STATS_FRAMES) {
+            framesSinceStats = 0;
+            statsModel.refresh();
+        }
+    }
+
+    // Instrumented list when stats are on, the plain one otherwise
+    private LinkedList newList() {
+        return stats != null ? new InstrumentedLinkedList(stats) : new LinkedList();
+    }
+
+    // List model that renders rows on demand from the linked list. JList only
+    // asks for the visible rows. The worker marks what it changed and the
+    // Swing timer turns that into at most one batch of events per frame.
+    private class ListViewModel extends AbstractListModel<String> {
+        private int rowCount;
+        // Guarded by listLock
+        private boolean dirty;
+        private int firstChangedPosition = Integer.MAX_VALUE;
+        private Node cursor;
+        private int cursorPosition;
+
+        public int getSize() {
+            return rowCount;
+        }
+
+        public String getElementAt(int index) {
+            int position = index + 1;
+            synchronized (listLock) {
+                if (position > list.length()) return "";
+                return position + ": " + nodeAt(position).data;
+            }
+        }
+
+        // Worker side, called under listLock after nodes were added at the end
+        void markAppended() {
+            dirty = true;
+        }
+
+        // Worker side, called under listLock after rows from position on changed
+        void markChanged(int position) {
+            dirty = true;
+            firstChangedPosition = Math.min(firstChangedPosition, Math.max(position, 1));
+            cursor = null;
+        }
+
+        // EDT side, fires one batch of events for everything marked since the last
+        // flush and returns the current length
+        int flush() {
+            int newCount;
+            int firstChanged;
+            synchronized (listLock) {
+                if (!dirty) return rowCount;
+                newCount = list.length();
+                firstChanged = firstChangedPosition - 1;
+                dirty = false;
+                firstChangedPosition = Integer.MAX_VALUE;
+            }
+            int oldCount = rowCount;
+            rowCount = newCount;
+            if (newCount > oldCount) fireIntervalAdded(this, oldCount, newCount - 1);
+            if (newCount < oldCount) fireIntervalRemoved(this, newCount, oldCount - 1);
+            int lastCommon = Math.min(oldCount, newCount) - 1;
+            if (firstChanged <= lastCommon) fireContentsChanged(this, firstChanged, lastCommon);
+            return newCount;
+        }
 
-        Node nodeToDelete = readNode(position);
-        if (nodeToDelete != null) {
-            if (nodeToDelete.prev != null) {
-                nodeToDelete.prev.next = nodeToDelete.next;
+        // Walk from the last row handed out when that is closer than either end,
+        // so painting consecutive visible rows costs O(1) per row. Otherwise seek
+        // with list.nodeAt, not readNode, so painting stays out of the read stats.
+        private Node nodeAt(int position) {
+            int distanceToEnd = Math.min(position - 1, list.length() - position);
+            if (cursor != null && Math.abs(position - cursorPosition) < distanceToEnd) {
+                while (cursorPosition < position) {
+                    cursor = cursor.next;
+                    cursorPosition++;
+                }
+                while (cursorPosition > position) {
+                    cursor = cursor.prev;
+                    cursorPosition--;
+                }
             } else {
-                head = nodeToDelete.next;
+                cursor = list.nodeAt(position);
+                cursorPosition = position;
             }
-            if (nodeToDelete.next != null) {
-                nodeToDelete.next.prev = nodeToDelete.prev;
+            return cursor;
+        }
+    }
+
+    // Collects imported values and appends them under the lock one chunk at a
+    // time, so the view keeps painting during a large import
+    private class BatchAppender implements IntConsumer {
+        private final int[] batch = new int[BULK_CHUNK];
+        private int count;
+        private long appended;
+
+        public void accept(int value) {
+            batch[count++] = value;
+            if (count == batch.length) flush();
+        }
+
+        void flush() {
+            synchronized (listLock) {
+                appendAllData(batch, 0, count);
+                listModel.markAppended();
             }
+            appended += count;
+            count = 0;
         }
     }
+
+    public static void main(String[] args) {
+        SwingUtilities.invokeLater(() -> {
+            LinkedListGUI gui = new LinkedListGUI();
+            gui.setVisible(true);
+        });
+    }
 }
 
-class Node {
-    int data;
-    Node next;
-    Node prev;
+// LinkedList that records every call, with its latency and the number of
+// links walked, into OpStats. The GUI only builds it when instrumentation is
+// turned on, so the plain list pays nothing.
+class InstrumentedLinkedList extends LinkedList {
+    static final String[] OPERATIONS = {"appendNode", "readNode", "updateNode", "deleteNode"};
+    private static final int APPEND = 0;
+    private static final int READ = 1;
+    private static final int UPDATE = 2;
+    private static final int DELETE = 3;
+
+    private final OpStats stats;
+
+    InstrumentedLinkedList(OpStats stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    protected void appendNode(int data) {
+        long start = System.nanoTime();
+        super.appendNode(data);
+        stats.record(APPEND, System.nanoTime() - start, 0);
+    }
+
+    @Override
+    protected Node readNode(int position) {
+        long steps = stepsTo(position);
+        long start = System.nanoTime();
+        Node node = super.readNode(position);
+        stats.record(READ, System.nanoTime() - start, steps);
+        return node;
+    }
+
+    @Override
+    protected void updateNode(int position, int newData) {
+        long steps = stepsTo(position);
+        long start = System.nanoTime();
+        super.updateNode(position, newData);
+        stats.record(UPDATE, System.nanoTime() - start, steps);
+    }
+
+    @Override
+    protected void deleteNode(int position) {
+        long steps = stepsTo(position);
+        long start = System.nanoTime();
+        super.deleteNode(position);
+        stats.record(DELETE, System.nanoTime() - start, steps);
+    }
 
-    Node(int data, Node next, Node prev) {
-        this.data = data;
-        this.next = next;
-        this.prev = prev;
+    // Links nodeAt follows to reach the position
+    private long stepsTo(int position) {
+        if (position < 1 || position > size) return 0;
+        return position <= size / 2 + 1 ? position - 1 : size - position;
     }
 }
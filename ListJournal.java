@@ -0,0 +1,523 @@
+package dsa;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import java.util.zip.CRC32;
+
+// Durability mode for LinkedList and DoublyLinkedList. Every appendNode,
+// updateNode and deleteNode, every batch insert, update or range delete,
+// and every sort is appended to a write-ahead log as it is applied to the
+// list. Single-node records are 5 or 9 bytes, batch records carry up to
+// MAX_BATCH_VALUES values each, and records are grouped into CRC-checked
+// frames, so one write (and at most one fsync) covers a whole group. A
+// snapshot writes the full list to snapshot.bin and starts a new log
+// generation; recovery loads the snapshot and replays only the log of
+// that generation, stopping at the first torn frame.
+//
+// Under ALWAYS the records of each operation are written and forced before
+// the call returns. Under INTERVAL and NEVER a flusher thread writes out a
+// partial group every FSYNC_INTERVAL_NANOS, so a quiet list does not keep
+// acknowledged operations in memory only. The methods are synchronized so
+// the flusher can run beside the thread changing the list.
+//
+// Files in the journal directory:
+//   snapshot.bin     magic, generation, count, the values, CRC of the values
+//   wal-<gen>.log    frames of [payload length][payload CRC][records]
+class ListJournal implements AutoCloseable {
+    enum FsyncPolicy {
+        // write and force the log at the end of every operation
+        ALWAYS,
+        // force at most once per FSYNC_INTERVAL_NANOS, losing at most that much on power failure
+        INTERVAL,
+        // leave flushing to the operating system
+        NEVER
+    }
+
+    // The list the journal logs for and replays into
+    interface Target {
+        void appendNode(int data);
+        void updateNode(int position, int newData);
+        void deleteNode(int position);
+        void insertAll(int position, int[] values, int offset, int count);
+        void updateRange(int from, int[] values, int offset, int count);
+        void deleteRange(int from, int to);
+        // Must be a stable ascending sort, so replay rebuilds the same order
+        void sort();
+        int length();
+        void forEach(IntConsumer action);
+    }
+
+    private static final byte APPEND = 1;
+    private static final byte UPDATE = 2;
+    private static final byte DELETE = 3;
+    private static final byte INSERT_ALL = 4;
+    private static final byte UPDATE_RANGE = 5;
+    private static final byte DELETE_RANGE = 6;
+    private static final byte SORT = 7;
+    private static final int MAX_RECORD_BYTES = 9;
+    private static final int MAX_BATCH_VALUES = 1024;
+    private static final int MAX_BATCH_RECORD_BYTES = 9 + MAX_BATCH_VALUES * Integer.BYTES;
+    private static final int FRAME_HEADER_BYTES = 8;
+    private static final int SNAPSHOT_MAGIC = 0x4C534E50;
+    private static final int SNAPSHOT_HEADER_BYTES = 20;
+    private static final int IO_BUFFER_BYTES = 1 << 20;
+    static final long FSYNC_INTERVAL_NANOS = 100_000_000L;
+    private static final String SNAPSHOT_FILE = "snapshot.bin";
+    private static final String SNAPSHOT_TEMP_FILE = "snapshot.tmp";
+
+    private final Path directory;
+    private final Target target;
+    private final FsyncPolicy fsyncPolicy;
+    private final int groupCommitRecords;
+    private final long snapshotEveryRecords;
+    private final ByteBuffer group;
+    private final CRC32 crc = new CRC32();
+    private final int[] replayValues = new int[MAX_BATCH_VALUES];
+    // Null under ALWAYS, where every operation commits itself
+    private final ScheduledExecutorService flusher;
+    private FileChannel log;
+    private long generation;
+    private int groupRecords;
+    private long recordsSinceSnapshot;
+    private long lastFsyncNanos;
+    private boolean unforced;
+    private String recoveryReport;
+
+    // Recovers the journal in directory into target, which must be empty,
+    // and opens the log for new records. groupCommitRecords caps the records
+    // per frame; under ALWAYS a frame never outlives its operation.
+    // snapshotEveryRecords <= 0 turns automatic snapshots off.
+    ListJournal(Path directory, Target target, FsyncPolicy fsyncPolicy, int groupCommitRecords, long snapshotEveryRecords) throws IOException {
+        if (groupCommitRecords < 1) throw new IllegalArgumentException("Group commit size must be at least 1");
+        if (target.length() != 0) throw new IllegalArgumentException("Recovery target must be empty");
+        this.directory = directory;
+        this.target = target;
+        this.fsyncPolicy = fsyncPolicy;
+        this.groupCommitRecords = groupCommitRecords;
+        this.snapshotEveryRecords = snapshotEveryRecords;
+        int groupBytes = Math.max(groupCommitRecords * MAX_RECORD_BYTES, MAX_BATCH_RECORD_BYTES);
+        group = ByteBuffer.allocateDirect(FRAME_HEADER_BYTES + groupBytes).order(ByteOrder.BIG_ENDIAN);
+        group.position(FRAME_HEADER_BYTES);
+        Files.createDirectories(directory);
+        recover();
+        if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+            flusher = null;
+        } else {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "list-journal-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flushPending, FSYNC_INTERVAL_NANOS, FSYNC_INTERVAL_NANOS, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    synchronized void appendNode(int data) {
+        ensureRoom(5);
+        group.put(APPEND).putInt(data);
+        target.appendNode(data);
+        recorded();
+        finishOperation();
+    }
+
+    synchronized void updateNode(int position, int newData) {
+        ensureRoom(9);
+        group.put(UPDATE).putInt(position).putInt(newData);
+        target.updateNode(position, newData);
+        recorded();
+        finishOperation();
+    }
+
+    synchronized void deleteNode(int position) {
+        ensureRoom(5);
+        group.put(DELETE).putInt(position);
+        target.deleteNode(position);
+        recorded();
+        finishOperation();
+    }
+
+    synchronized void appendAll(int[] values, int offset, int count) {
+        insertAll(target.length() + 1, values, offset, count);
+    }
+
+    // Logged and applied in pieces of at most MAX_BATCH_VALUES, each piece
+    // one record, so every record fits in a group buffer
+    synchronized void insertAll(int position, int[] values, int offset, int count) {
+        if (position < 1 || position > target.length() + 1) return;
+        for (int done = 0; done < count; done += MAX_BATCH_VALUES) {
+            int piece = Math.min(MAX_BATCH_VALUES, count - done);
+            putBatch(INSERT_ALL, position + done, values, offset + done, piece);
+            target.insertAll(position + done, values, offset + done, piece);
+            recorded();
+        }
+        finishOperation();
+    }
+
+    synchronized void updateRange(int from, int[] values, int offset, int count) {
+        if (from < 1 || count < 0 || from - 1 + count > target.length()) return;
+        for (int done = 0; done < count; done += MAX_BATCH_VALUES) {
+            int piece = Math.min(MAX_BATCH_VALUES, count - done);
+            putBatch(UPDATE_RANGE, from + done, values, offset + done, piece);
+            target.updateRange(from + done, values, offset + done, piece);
+            recorded();
+        }
+        finishOperation();
+    }
+
+    synchronized void deleteRange(int from, int to) {
+        ensureRoom(9);
+        group.put(DELETE_RANGE).putInt(from).putInt(to);
+        target.deleteRange(from, to);
+        recorded();
+        finishOperation();
+    }
+
+    // Logged as a one-byte record; replay sorts again instead of storing the order
+    synchronized void sort() {
+        ensureRoom(1);
+        group.put(SORT);
+        target.sort();
+        recorded();
+        finishOperation();
+    }
+
+    // Log a sort the caller has already applied to the target, for sorts
+    // done in two phases off the caller's lock; replays like sort()
+    synchronized void sorted() {
+        ensureRoom(1);
+        group.put(SORT);
+        recorded();
+        finishOperation();
+    }
+
+    // Write out the pending group and force the log to disk regardless of policy
+    synchronized void sync() {
+        try {
+            commit();
+            log.force(false);
+            lastFsyncNanos = System.nanoTime();
+            unforced = false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Write the whole list to a new snapshot and start an empty log generation
+    synchronized void snapshot() {
+        try {
+            sync();
+            long nextGeneration = generation + 1;
+            writeSnapshot(nextGeneration);
+            FileChannel oldLog = log;
+            Path oldLogPath = logPath(generation);
+            generation = nextGeneration;
+            log = openLog(generation);
+            oldLog.close();
+            Files.deleteIfExists(oldLogPath);
+            recordsSinceSnapshot = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // What the last recovery loaded and how long it took
+    String recoveryReport() {
+        return recoveryReport;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (flusher != null) flusher.shutdown();
+        try {
+            sync();
+        } finally {
+            log.close();
+        }
+    }
+
+    // Called after the operation is applied, so a snapshot taken here already
+    // contains it and the record may be dropped with the old log generation
+    private void recorded() {
+        if (++groupRecords == groupCommitRecords) {
+            try {
+                commit();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        if (snapshotEveryRecords > 0 && ++recordsSinceSnapshot >= snapshotEveryRecords) {
+            snapshot();
+        }
+    }
+
+    // Under ALWAYS the caller may treat the operation as durable once this returns
+    private void finishOperation() {
+        if (fsyncPolicy != FsyncPolicy.ALWAYS) return;
+        try {
+            commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Flusher thread: write out whatever has piled up since the last tick,
+    // and under INTERVAL force it once the interval has passed
+    private synchronized void flushPending() {
+        if (!log.isOpen()) return;
+        try {
+            commit();
+            forceIfDue();
+        } catch (IOException e) {
+            System.err.println("Could not flush journal: " + e.getMessage());
+        }
+    }
+
+    // Commit the pending group early when the next record would not fit
+    private void ensureRoom(int recordBytes) {
+        if (group.remaining() < recordBytes) {
+            try {
+                commit();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void putBatch(byte op, int position, int[] values, int offset, int count) {
+        ensureRoom(9 + count * Integer.BYTES);
+        group.put(op).putInt(position).putInt(count);
+        for (int i = 0; i < count; i++) {
+            group.putInt(values[offset + i]);
+        }
+    }
+
+    // Frame the pending records, write them in one call and fsync per policy
+    private void commit() throws IOException {
+        if (groupRecords == 0) return;
+        int payloadBytes = group.position() - FRAME_HEADER_BYTES;
+        group.flip();
+        crc.reset();
+        crc.update(group.duplicate().position(FRAME_HEADER_BYTES));
+        group.putInt(0, payloadBytes);
+        group.putInt(4, (int) crc.getValue());
+        while (group.hasRemaining()) {
+            log.write(group);
+        }
+        group.clear();
+        group.position(FRAME_HEADER_BYTES);
+        groupRecords = 0;
+        unforced = true;
+        forceIfDue();
+    }
+
+    private void forceIfDue() throws IOException {
+        if (!unforced) return;
+        if (fsyncPolicy == FsyncPolicy.ALWAYS
+                || (fsyncPolicy == FsyncPolicy.INTERVAL && System.nanoTime() - lastFsyncNanos >= FSYNC_INTERVAL_NANOS)) {
+            log.force(false);
+            lastFsyncNanos = System.nanoTime();
+            unforced = false;
+        }
+    }
+
+    private void recover() throws IOException {
+        long start = System.nanoTime();
+        Files.deleteIfExists(directory.resolve(SNAPSHOT_TEMP_FILE));
+        long snapshotValues = loadSnapshot();
+        long replayed = replayLog();
+        try (DirectoryStream<Path> logs = Files.newDirectoryStream(directory, "wal-*.log")) {
+            for (Path stale : logs) {
+                if (!stale.equals(logPath(generation))) Files.delete(stale);
+            }
+        }
+        log = openLog(generation);
+        lastFsyncNanos = System.nanoTime();
+        recoveryReport = String.format("Recovered %d snapshot values and replayed %d log records in %.1f ms",
+                snapshotValues, replayed, (System.nanoTime() - start) / 1e6);
+    }
+
+    private long loadSnapshot() throws IOException {
+        Path path = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(path)) return 0;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_BYTES).order(ByteOrder.BIG_ENDIAN);
+            buffer.limit(SNAPSHOT_HEADER_BYTES);
+            readFully(channel, buffer);
+            buffer.flip();
+            if (buffer.remaining() < SNAPSHOT_HEADER_BYTES || buffer.getInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a list snapshot: " + path);
+            }
+            generation = buffer.getLong();
+            long count = buffer.getLong();
+            if (channel.size() != SNAPSHOT_HEADER_BYTES + count * Integer.BYTES + Integer.BYTES) {
+                throw new IOException("Truncated list snapshot: " + path);
+            }
+
+            crc.reset();
+            long remaining = count;
+            while (remaining > 0) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), remaining * Integer.BYTES));
+                readFully(channel, buffer);
+                buffer.flip();
+                crc.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    target.appendNode(buffer.getInt());
+                    remaining--;
+                }
+            }
+            buffer.clear();
+            buffer.limit(Integer.BYTES);
+            readFully(channel, buffer);
+            if (buffer.getInt(0) != (int) crc.getValue()) throw new IOException("List snapshot checksum mismatch: " + path);
+            return count;
+        }
+    }
+
+    // Apply every intact frame of the current generation's log, then cut the
+    // file after the last intact frame so new records follow valid data
+    private long replayLog() throws IOException {
+        Path path = logPath(generation);
+        if (!Files.exists(path)) return 0;
+
+        long replayed = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_BYTES).order(ByteOrder.BIG_ENDIAN);
+            ByteBuffer payload = ByteBuffer.allocate(IO_BUFFER_BYTES).order(ByteOrder.BIG_ENDIAN);
+            long validEnd = 0;
+            long size = channel.size();
+            while (validEnd + FRAME_HEADER_BYTES <= size) {
+                header.clear();
+                readFully(channel.position(validEnd), header);
+                int payloadBytes = header.getInt(0);
+                if (payloadBytes <= 0 || validEnd + FRAME_HEADER_BYTES + payloadBytes > size) break;
+                if (payload.capacity() < payloadBytes) payload = ByteBuffer.allocate(payloadBytes).order(ByteOrder.BIG_ENDIAN);
+                payload.clear();
+                payload.limit(payloadBytes);
+                readFully(channel, payload);
+                payload.flip();
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != header.getInt(4)) break;
+                replayed += applyFrame(payload);
+                validEnd += FRAME_HEADER_BYTES + payloadBytes;
+            }
+            if (validEnd < size) channel.truncate(validEnd);
+        }
+        return replayed;
+    }
+
+    private long applyFrame(ByteBuffer payload) throws IOException {
+        long records = 0;
+        while (payload.hasRemaining()) {
+            byte op = payload.get();
+            switch (op) {
+                case APPEND:
+                    target.appendNode(payload.getInt());
+                    break;
+                case UPDATE:
+                    int position = payload.getInt();
+                    target.updateNode(position, payload.getInt());
+                    break;
+                case DELETE:
+                    target.deleteNode(payload.getInt());
+                    break;
+                case INSERT_ALL:
+                case UPDATE_RANGE:
+                    int from = payload.getInt();
+                    int count = payload.getInt();
+                    if (count < 0 || count > MAX_BATCH_VALUES) throw new IOException("Bad batch record length " + count);
+                    for (int i = 0; i < count; i++) {
+                        replayValues[i] = payload.getInt();
+                    }
+                    if (op == INSERT_ALL) target.insertAll(from, replayValues, 0, count);
+                    else target.updateRange(from, replayValues, 0, count);
+                    break;
+                case DELETE_RANGE:
+                    int first = payload.getInt();
+                    target.deleteRange(first, payload.getInt());
+                    break;
+                case SORT:
+                    target.sort();
+                    break;
+                default:
+                    throw new IOException("Unknown log record type " + op);
+            }
+            records++;
+        }
+        return records;
+    }
+
+    // Write to a temporary file, force it, then atomically replace the old snapshot
+    private void writeSnapshot(long snapshotGeneration) throws IOException {
+        Path temp = directory.resolve(SNAPSHOT_TEMP_FILE);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_BYTES).order(ByteOrder.BIG_ENDIAN);
+            buffer.putInt(SNAPSHOT_MAGIC).putLong(snapshotGeneration).putLong(target.length());
+            writeFully(channel, buffer);
+            crc.reset();
+            IOException[] failure = new IOException[1];
+            target.forEach(value -> {
+                if (!buffer.hasRemaining()) {
+                    try {
+                        updateCrcAndWrite(channel, buffer);
+                    } catch (IOException e) {
+                        if (failure[0] == null) failure[0] = e;
+                        buffer.clear();
+                    }
+                }
+                buffer.putInt(value);
+            });
+            if (failure[0] != null) throw failure[0];
+            updateCrcAndWrite(channel, buffer);
+            buffer.putInt((int) crc.getValue());
+            writeFully(channel, buffer);
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void updateCrcAndWrite(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private FileChannel openLog(long logGeneration) throws IOException {
+        return FileChannel.open(logPath(logGeneration), StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private Path logPath(long logGeneration) {
+        return directory.resolve("wal-" + logGeneration + ".log");
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) break;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
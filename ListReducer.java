@@ -0,0 +1,96 @@
+package dsa;
+
+import java.util.function.IntToLongFunction;
+
+// Sums a per-value function over a node chain on a WorkStealingScheduler,
+// for aggregates with enough work per node to be worth spreading out. One
+// serial walk records the first node of every chunk; a range of chunks is
+// then a single int payload (lo << 16 | hi) that a worker halves by forking
+// the upper part until one chunk is left, so idle workers steal the large
+// halves. Each chunk writes its own slot of a long[], summed at the end.
+// Calls are serialized: the scheduler's workers serve one reduction at a time.
+final class ListReducer implements AutoCloseable {
+    // Below this many nodes per worker the serial walk wins
+    private static final int MIN_CHUNK = 1 << 12;
+    // Chunk indexes must fit in the 16 bit halves of a payload
+    private static final int MAX_CHUNKS = 1 << 15;
+
+    private final WorkStealingScheduler scheduler;
+    // The current reduction; written before submit, whose queue hand-off
+    // publishes it to the workers
+    private Node[] starts;
+    private int chunkSize;
+    private int size;
+    private IntToLongFunction function;
+    private long[] partials;
+    private volatile RuntimeException failure;
+
+    ListReducer(int parallelism) {
+        scheduler = new WorkStealingScheduler(parallelism, this::run);
+    }
+
+    // Sum of function over the data of the size nodes from head. The chain
+    // must not change until this returns; a failure in function is rethrown.
+    synchronized long sum(Node head, int size, IntToLongFunction function) {
+        if (size < 2 * MIN_CHUNK || scheduler.parallelism() == 1) return serialSum(head, size, function);
+        int chunkSize = Math.max(MIN_CHUNK, (size + MAX_CHUNKS - 1) / MAX_CHUNKS);
+        int chunks = (size + chunkSize - 1) / chunkSize;
+        Node[] starts = new Node[chunks];
+        Node node = head;
+        for (int i = 0; i < size; i++) {
+            if (i % chunkSize == 0) starts[i / chunkSize] = node;
+            node = node.next;
+        }
+        this.starts = starts;
+        this.chunkSize = chunkSize;
+        this.size = size;
+        this.function = function;
+        partials = new long[chunks];
+        failure = null;
+        scheduler.submit(chunks);
+        scheduler.awaitQuiescence();
+
+        long sum = 0;
+        for (long partial : partials) {
+            sum += partial;
+        }
+        this.starts = null;
+        this.function = null;
+        if (failure != null) throw failure;
+        return sum;
+    }
+
+    int parallelism() {
+        return scheduler.parallelism();
+    }
+
+    @Override
+    public void close() {
+        scheduler.close();
+    }
+
+    private void run(int payload, WorkStealingScheduler.Worker worker) {
+        int lo = payload >>> 16;
+        int hi = payload & 0xFFFF;
+        while (hi - lo > 1) {
+            int mid = (lo + hi) >>> 1;
+            worker.fork(mid << 16 | hi);
+            hi = mid;
+        }
+        int count = Math.min(chunkSize, size - lo * chunkSize);
+        try {
+            partials[lo] = serialSum(starts[lo], count, function);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+    }
+
+    private static long serialSum(Node node, int count, IntToLongFunction function) {
+        long sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += function.applyAsLong(node.data);
+            node = node.next;
+        }
+        return sum;
+    }
+}
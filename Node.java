@@ -0,0 +1,13 @@
+package dsa;
+
+class Node {
+    int data;
+    Node next;
+    Node prev;
+
+    Node(int data, Node next, Node prev) {
+        this.data = data;
+        this.next = next;
+        this.prev = prev;
+    }
+}
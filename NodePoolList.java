@@ -0,0 +1,135 @@
+package dsa;
+
+import java.util.Arrays;
+
+// List engine that keeps data, next and prev in parallel int arrays instead
+// of one Node object per element. Nodes are linked by slot index (NIL marks
+// the end) and deleted slots are chained into a free list for reuse, so a
+// steady-state workload allocates nothing and the GC only sees three arrays.
+// The GUIs stay on LinkedList; this engine is for ListBenchmark and can be
+// replayed against with OpScript.
+class NodePoolList {
+    static final int NIL = -1;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] data;
+    private int[] next;
+    private int[] prev;
+    private int head = NIL;
+    private int tail = NIL;
+    private int freeHead = NIL;
+    private int used;
+    private int size;
+
+    NodePoolList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    NodePoolList(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        data = new int[capacity];
+        next = new int[capacity];
+        prev = new int[capacity];
+    }
+
+    // Append node at the end
+    protected void appendNode(int value) {
+        int node = allocate();
+        data[node] = value;
+        next[node] = NIL;
+        prev[node] = tail;
+        if (tail == NIL) {
+            head = node;
+        } else {
+            next[tail] = node;
+        }
+        tail = node;
+        size++;
+    }
+
+    // Read node by position, returns the slot index or NIL
+    protected int readNode(int position) {
+        if (position < 1 || position > size) return NIL;
+
+        int current;
+        if (position <= size / 2 + 1) {
+            current = head;
+            for (int count = 1; count < position; count++) {
+                current = next[current];
+            }
+        } else {
+            current = tail;
+            for (int count = size; count > position; count--) {
+                current = prev[current];
+            }
+        }
+        return current;
+    }
+
+    // Update node by position
+    protected void updateNode(int position, int newData) {
+        int nodeToUpdate = readNode(position);
+        if (nodeToUpdate != NIL) {
+            data[nodeToUpdate] = newData;
+        }
+    }
+
+    // Delete node by position and return its slot to the free list
+    protected void deleteNode(int position) {
+        int nodeToDelete = readNode(position);
+        if (nodeToDelete == NIL) return;
+
+        int before = prev[nodeToDelete];
+        int after = next[nodeToDelete];
+        if (before != NIL) {
+            next[before] = after;
+        } else {
+            head = after;
+        }
+        if (after != NIL) {
+            prev[after] = before;
+        } else {
+            tail = before;
+        }
+        next[nodeToDelete] = freeHead;
+        freeHead = nodeToDelete;
+        size--;
+    }
+
+    protected int length() {
+        return size;
+    }
+
+    protected int first() {
+        return head;
+    }
+
+    protected int next(int node) {
+        return next[node];
+    }
+
+    protected int data(int node) {
+        return data[node];
+    }
+
+    // Heap bytes held by the three backing arrays, including free and unused slots
+    protected long footprintBytes() {
+        return 3L * Integer.BYTES * data.length;
+    }
+
+    // Reuse a freed slot if there is one, otherwise take the next fresh slot
+    private int allocate() {
+        if (freeHead != NIL) {
+            int node = freeHead;
+            freeHead = next[node];
+            return node;
+        }
+        if (used == data.length) {
+            int capacity = data.length << 1;
+            data = Arrays.copyOf(data, capacity);
+            next = Arrays.copyOf(next, capacity);
+            prev = Arrays.copyOf(prev, capacity);
+        }
+        return used++;
+    }
+}
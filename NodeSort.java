@@ -0,0 +1,168 @@
+package dsa;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Merge sort for the node chains of LinkedList and DoublyLinkedList. Both
+// sorts only relink next pointers while merging and fix every prev pointer
+// in one pass at the end; they are stable and never copy values out.
+//
+// sort is bottom-up in the style of a binary counter: nodes are taken off
+// the chain one at a time and pending[k] holds a sorted run of 2^k nodes
+// until a second run of that size arrives and the two are merged. Runs are
+// merged while they are still in cache, instead of in full passes over the
+// whole list, and the extra space is a fixed 32-slot array.
+// parallelSort cuts the chain into one run per task, sorts the runs with
+// sort on a fork/join pool and merges them back in a tree. The last merge
+// is a single serial pass over the whole list.
+//
+// sortedOrder and relink split a sort in two for callers that must keep
+// the list readable meanwhile: the first only reads the chain and sorts
+// (value, position) keys in a long[], the second is one O(n) relinking
+// pass over the result.
+final class NodeSort {
+    // Below this many nodes per run a task is not worth forking
+    private static final int MIN_PARALLEL_RUN = 1 << 14;
+    // Runs per pool thread, so a slow run does not hold up the others
+    private static final int RUNS_PER_THREAD = 4;
+
+    private NodeSort() {
+    }
+
+    // Sort the size nodes starting at head; returns the new head
+    static Node sort(Node head, int size) {
+        if (size < 2) return head;
+        Node[] pending = new Node[Integer.SIZE];
+        Node dummy = new Node(0, null, null);
+        Node node = head;
+        while (node != null) {
+            Node next = node.next;
+            node.next = null;
+            Node run = node;
+            int k = 0;
+            for (; pending[k] != null; k++) {
+                run = merge(pending[k], run, dummy);
+                pending[k] = null;
+            }
+            pending[k] = run;
+            node = next;
+        }
+        // Higher slots hold earlier nodes, so they go on the left
+        Node sorted = null;
+        for (Node run : pending) {
+            if (run != null) sorted = sorted == null ? run : merge(run, sorted, dummy);
+        }
+        return sorted;
+    }
+
+    static Node parallelSort(Node head, int size, ForkJoinPool pool) {
+        int runs = Math.min(size / MIN_PARALLEL_RUN, pool.getParallelism() * RUNS_PER_THREAD);
+        if (runs < 2) return sort(head, size);
+        Node[] heads = new Node[runs];
+        int[] lengths = new int[runs];
+        Node rest = head;
+        for (int i = 0; i < runs; i++) {
+            lengths[i] = size / runs + (i < size % runs ? 1 : 0);
+            heads[i] = rest;
+            rest = cut(rest, lengths[i]);
+        }
+        return pool.invoke(new SortTask(heads, lengths, 0, runs));
+    }
+
+    // The size nodes from head in stable ascending order, without touching
+    // the chain. Each key holds the value in its high half and the position
+    // in its low half, so equal values keep their order.
+    static Node[] sortedOrder(Node head, int size) {
+        Node[] nodes = new Node[size];
+        long[] keys = new long[size];
+        Node node = head;
+        for (int i = 0; i < size; i++) {
+            nodes[i] = node;
+            keys[i] = (long) node.data << 32 | i;
+            node = node.next;
+        }
+        Arrays.parallelSort(keys);
+        Node[] sorted = new Node[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = nodes[(int) keys[i]];
+        }
+        return sorted;
+    }
+
+    // Chain the nodes in array order through next and prev
+    static void relink(Node[] nodes) {
+        Node previous = null;
+        for (Node node : nodes) {
+            node.prev = previous;
+            if (previous != null) previous.next = node;
+            previous = node;
+        }
+        if (previous != null) previous.next = null;
+    }
+
+    // Point every prev at its predecessor; returns the last node
+    static Node linkPrev(Node head) {
+        Node previous = null;
+        for (Node node = head; node != null; node = node.next) {
+            node.prev = previous;
+            previous = node;
+        }
+        return previous;
+    }
+
+    // Detach the chain after count nodes from first; returns the detached rest
+    private static Node cut(Node first, int count) {
+        Node node = first;
+        for (int i = 1; node != null && i < count; i++) {
+            node = node.next;
+        }
+        if (node == null) return null;
+        Node rest = node.next;
+        node.next = null;
+        return rest;
+    }
+
+    // Merge two sorted chains, taking from left on ties; dummy is scratch
+    // for the head link. Returns the head of the merged chain.
+    private static Node merge(Node left, Node right, Node dummy) {
+        Node tail = dummy;
+        while (left != null && right != null) {
+            if (left.data <= right.data) {
+                tail.next = left;
+                left = left.next;
+            } else {
+                tail.next = right;
+                right = right.next;
+            }
+            tail = tail.next;
+        }
+        tail.next = left != null ? left : right;
+        return dummy.next;
+    }
+
+    // Sorts runs lo..hi-1 and merges them; each run is a detached chain
+    private static final class SortTask extends RecursiveTask<Node> {
+        private final Node[] heads;
+        private final int[] lengths;
+        private final int lo;
+        private final int hi;
+
+        SortTask(Node[] heads, int[] lengths, int lo, int hi) {
+            this.heads = heads;
+            this.lengths = lengths;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected Node compute() {
+            if (hi - lo == 1) return sort(heads[lo], lengths[lo]);
+            int mid = (lo + hi) >>> 1;
+            SortTask left = new SortTask(heads, lengths, lo, mid);
+            left.fork();
+            Node right = new SortTask(heads, lengths, mid, hi).compute();
+            return merge(left.join(), right, new Node(0, null, null));
+        }
+    }
+}
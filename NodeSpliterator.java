@@ -0,0 +1,101 @@
+package dsa;
+
+import java.util.ConcurrentModificationException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+
+// Spliterator over a run of count nodes starting at first, shared by
+// LinkedList and DoublyLinkedList. A chain can only be walked from the
+// front, so trySplit copies the next batch of values into an int[] and
+// hands that off, as Spliterators.AbstractSpliterator does. Batches grow by
+// BATCH_UNIT per split, so each split costs only its own batch and the
+// whole list is walked once however often a parallel stream splits.
+// Sequential traversal never copies.
+// The list's modification count is checked after every traversal; a
+// structural change while streaming throws ConcurrentModificationException.
+final class NodeSpliterator implements Spliterator.OfInt {
+    // Batch size step and cap, the same as AbstractSpliterator's
+    private static final int BATCH_UNIT = 1 << 10;
+    private static final int MAX_BATCH = 1 << 25;
+
+    private Node current;
+    private int remaining;
+    private int batch;
+    private final int expectedModCount;
+    private final IntSupplier modCount;
+
+    NodeSpliterator(Node first, int count, int expectedModCount, IntSupplier modCount) {
+        this.current = first;
+        this.remaining = count;
+        this.expectedModCount = expectedModCount;
+        this.modCount = modCount;
+    }
+
+    @Override
+    public OfInt trySplit() {
+        if (remaining <= BATCH_UNIT) return null;
+        int n = Math.min(Math.min(batch + BATCH_UNIT, MAX_BATCH), remaining - 1);
+        int[] values = new int[n];
+        Node node = current;
+        for (int i = 0; i < n; i++) {
+            values[i] = node.data;
+            node = next(node);
+        }
+        checkForComodification();
+        current = node;
+        remaining -= n;
+        batch = n;
+        return Spliterators.spliterator(values, 0, n, ORDERED | NONNULL);
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+        if (remaining == 0) return false;
+        checkForComodification();
+        int value = current.data;
+        current = --remaining == 0 ? null : next(current);
+        action.accept(value);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        Node node = current;
+        int count = remaining;
+        current = null;
+        remaining = 0;
+        for (int i = 0; i < count; i++) {
+            if (node == null) throw new ConcurrentModificationException();
+            action.accept(node.data);
+            node = node.next;
+        }
+        checkForComodification();
+    }
+
+    @Override
+    public long estimateSize() {
+        return remaining;
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return remaining;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL;
+    }
+
+    private Node next(Node node) {
+        Node next = node.next;
+        if (next == null) throw new ConcurrentModificationException();
+        return next;
+    }
+
+    private void checkForComodification() {
+        if (modCount.getAsInt() != expectedModCount) throw new ConcurrentModificationException();
+    }
+}
@@ -0,0 +1,655 @@
+package dsa;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+// Headless load driver: replays an operation script against one of the lists
+// or queues and reports throughput, allocation and latency percentiles. Only
+// the data structure classes are loaded, never the Swing GUIs.
+//
+//   java -cp out dsa.OpScript run <script> <structure> [sampleEvery] [capacity]
+//   java -cp out dsa.OpScript generate <script> list|queue <ops> [maxSize] [seed]
+//
+// <structure> is LinkedList, DoublyLinkedList, SnapshotList, IndexableSkipList,
+// NodePoolList, UnrolledLinkedList or one of QueueGUI.Queue.TYPES (spaces and
+// case are ignored, so "priorityqueue" works). Text scripts (.txt) hold one operation per line:
+//
+//   APPEND 5      READ 3      UPDATE 3 42      DEL 3      # comment
+//   ENQ 7         DEQ         PEEK
+//
+// DELETE, ENQUEUE and DEQUEUE are accepted as long forms. Any other file is
+// binary: the magic "OPS1", then per operation one opcode byte followed by
+// its big-endian int arguments. Scripts are decoded a chunk at a time and
+// only the execution of each chunk is timed, so parsing is not part of the
+// throughput figure. One operation in sampleEvery (default 16) is timed on
+// its own for the latency histogram.
+public class OpScript {
+    static final byte APPEND = 1;
+    static final byte READ = 2;
+    static final byte UPDATE = 3;
+    static final byte DELETE = 4;
+    static final byte ENQUEUE = 5;
+    static final byte DEQUEUE = 6;
+    static final byte PEEK = 7;
+    private static final String[] NAMES = {"", "APPEND", "READ", "UPDATE", "DELETE", "ENQUEUE", "DEQUEUE", "PEEK"};
+    private static final int[] ARGUMENTS = {0, 1, 1, 2, 1, 1, 0, 0};
+
+    private static final int BINARY_MAGIC = 0x4F505331;
+    private static final int CHUNK_OPS = 1 << 16;
+    private static final int READ_BUFFER = 1 << 20;
+    private static final int DEFAULT_SAMPLE_EVERY = 16;
+    private static final int DEFAULT_CAPACITY = 1 << 20;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 3 && args[0].equals("run")) {
+            int sampleEvery = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_SAMPLE_EVERY;
+            int capacity = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_CAPACITY;
+            Report report = run(Paths.get(args[1]), driver(args[2], capacity), sampleEvery);
+            System.out.print(report);
+        } else if (args.length >= 4 && args[0].equals("generate")) {
+            int maxSize = args.length > 4 ? Integer.parseInt(args[4]) : 10_000;
+            long seed = args.length > 5 ? Long.parseLong(args[5]) : 42;
+            long ops = generate(Paths.get(args[1]), args[2].equals("queue"), Long.parseLong(args[3]), maxSize, seed);
+            System.out.println("Wrote " + ops + " operations to " + args[1]);
+        } else {
+            System.err.println("Usage: OpScript run <script> <structure> [sampleEvery] [capacity]");
+            System.err.println("       OpScript generate <script> list|queue <ops> [maxSize] [seed]");
+            System.exit(2);
+        }
+    }
+
+    // Runs one operation; returns something derived from the result so the
+    // JIT cannot drop reads
+    interface Driver {
+        String name();
+
+        int execute(byte op, int a, int b);
+    }
+
+    static Driver driver(String structure, int capacity) {
+        String key = normalize(structure);
+        if (key.equals("linkedlist")) return listDriver(new LinkedList());
+        if (key.equals("doublylinkedlist")) return doublyLinkedListDriver(new DoublyLinkedList());
+        if (key.equals("snapshotlist")) return snapshotListDriver(new SnapshotList());
+        if (key.equals("indexableskiplist")) return skipListDriver(new IndexableSkipList());
+        if (key.equals("nodepoollist")) return nodePoolDriver(new NodePoolList());
+        if (key.equals("unrolledlinkedlist")) return unrolledDriver(new UnrolledLinkedList());
+        for (String type : QueueGUI.Queue.TYPES) {
+            if (normalize(type).equals(key)) return queueDriver(type, QueueGUI.Queue.create(type, capacity));
+        }
+        throw new IllegalArgumentException("Unknown structure: " + structure);
+    }
+
+    private static String normalize(String name) {
+        return name.replaceAll("[^A-Za-z]", "").toLowerCase();
+    }
+
+    private static Driver listDriver(LinkedList list) {
+        return new Driver() {
+            public String name() {
+                return "LinkedList";
+            }
+
+            public int execute(byte op, int a, int b) {
+                switch (op) {
+                    case APPEND:
+                        list.appendNode(a);
+                        return 0;
+                    case READ:
+                        Node node = list.readNode(a);
+                        return node != null ? node.data : 0;
+                    case UPDATE:
+                        list.updateNode(a, b);
+                        return 0;
+                    case DELETE:
+                        list.deleteNode(a);
+                        return 0;
+                    default:
+                        throw new IllegalArgumentException(NAMES[op] + " is not a list operation");
+                }
+            }
+        };
+    }
+
+    private static Driver doublyLinkedListDriver(DoublyLinkedList list) {
+        return new Driver() {
+            public String name() {
+                return "DoublyLinkedList";
+            }
+
+            public int execute(byte op, int a, int b) {
+                switch (op) {
+                    case APPEND:
+                        list.appendNode(a);
+                        return 0;
+                    case READ:
+                        Node node = list.readNode(a);
+                        return node != null ? node.data : 0;
+                    case UPDATE:
+                        list.updateNode(a, b);
+                        return 0;
+                    case DELETE:
+                        list.deleteNode(a);
+                        return 0;
+                    default:
+                        throw new IllegalArgumentException(NAMES[op] + " is not a list operation");
+                }
+            }
+        };
+    }
+
+    private static Driver snapshotListDriver(SnapshotList list) {
+        return new Driver() {
+            public String name() {
+                return "SnapshotList";
+            }
+
+            public int execute(byte op, int a, int b) {
+                switch (op) {
+                    case APPEND:
+                        list.appendNode(a);
+                        return 0;
+                    case READ:
+                        return a >= 1 && a <= list.length() ? list.readNode(a) : 0;
+                    case UPDATE:
+                        list.updateNode(a, b);
+                        return 0;
+                    case DELETE:
+                        list.deleteNode(a);
+                        return 0;
+                    default:
+                        throw new IllegalArgumentException(NAMES[op] + " is not a list operation");
+                }
+            }
+        };
+    }
+
+    private static Driver skipListDriver(IndexableSkipList list) {
+        return new Driver() {
+            public String name() {
+                return "IndexableSkipList";
+            }
+
+            public int execute(byte op, int a, int b) {
+                switch (op) {
+                    case APPEND:
+                        list.appendNode(a);
+                        return 0;
+                    case READ:
+                        SkipNode node = list.readNode(a);
+                        return node != null ? node.data : 0;
+                    case UPDATE:
+                        list.updateNode(a, b);
+                        return 0;
+                    case DELETE:
+                        list.deleteNode(a);
+                        return 0;
+                    default:
+                        throw new IllegalArgumentException(NAMES[op] + " is not a list operation");
+                }
+            }
+        };
+    }
+
+    private static Driver nodePoolDriver(NodePoolList list) {
+        return new Driver() {
+            public String name() {
+                return "NodePoolList";
+            }
+
+            public int execute(byte op, int a, int b) {
+                switch (op) {
+                    case APPEND:
+                        list.appendNode(a);
+                        return 0;
+                    case READ:
+                        int node = list.readNode(a);
+                        return node != NodePoolList.NIL ? list.data(node) : 0;
+                    case UPDATE:
+                        list.updateNode(a, b);
+                        return 0;
+                    case DELETE:
+                        list.deleteNode(a);
+                        return 0;
+                    default:
+                        throw new IllegalArgumentException(NAMES[op] + " is not a list operation");
+                }
+            }
+        };
+    }
+
+    private static Driver unrolledDriver(UnrolledLinkedList list) {
+        return new Driver() {
+            public String name() {
+                return "UnrolledLinkedList";
+            }
+
+            public int execute(byte op, int a, int b) {
+                switch (op) {
+                    case APPEND:
+                        list.appendNode(a);
+                        return 0;
+                    case READ:
+                        return a >= 1 && a <= list.length() ? list.readNode(a) : 0;
+                    case UPDATE:
+                        list.updateNode(a, b);
+                        return 0;
+                    case DELETE:
+                        list.deleteNode(a);
+                        return 0;
+                    default:
+                        throw new IllegalArgumentException(NAMES[op] + " is not a list operation");
+                }
+            }
+        };
+    }
+
+    private static Driver queueDriver(String type, QueueGUI.Queue queue) {
+        return new Driver() {
+            public String name() {
+                return type;
+            }
+
+            public int execute(byte op, int a, int b) {
+                switch (op) {
+                    case ENQUEUE:
+                        queue.enqueue(a);
+                        return 0;
+                    case DEQUEUE:
+                        return queue.dequeue();
+                    case PEEK:
+                        return queue.peek();
+                    default:
+                        throw new IllegalArgumentException(NAMES[op] + " is not a queue operation");
+                }
+            }
+        };
+    }
+
+    // Decode and execute the whole script. An operation that throws
+    // IllegalStateException (dequeue from an empty queue, enqueue into a
+    // full one) is counted as failed and the run goes on.
+    static Report run(Path script, Driver driver, int sampleEvery) throws IOException {
+        if (sampleEvery < 1) throw new IllegalArgumentException("sampleEvery must be at least 1");
+        OpStats latency = new OpStats(driver.name(), NAMES);
+        byte[] ops = new byte[CHUNK_OPS];
+        int[] first = new int[CHUNK_OPS];
+        int[] second = new int[CHUNK_OPS];
+        Report report = new Report(driver.name(), latency, sampleEvery);
+        long gcCountBefore = gcCount();
+        long gcMillisBefore = gcMillis();
+        long untilSample = sampleEvery;
+        int sink = 0;
+
+        try (ScriptReader reader = IntFileIO.isTextFile(script) ? new TextScriptReader(script) : new BinaryScriptReader(script)) {
+            int count;
+            while ((count = reader.read(ops, first, second, CHUNK_OPS)) > 0) {
+                long allocatedBefore = allocatedBytes();
+                long start = System.nanoTime();
+                for (int i = 0; i < count; i++) {
+                    boolean sampled = --untilSample == 0;
+                    long opStart = sampled ? System.nanoTime() : 0;
+                    try {
+                        sink += driver.execute(ops[i], first[i], second[i]);
+                    } catch (IllegalStateException e) {
+                        report.failed++;
+                    }
+                    if (sampled) {
+                        latency.record(ops[i], System.nanoTime() - opStart, 0);
+                        untilSample = sampleEvery;
+                    }
+                }
+                report.nanos += System.nanoTime() - start;
+                report.allocatedBytes += allocatedBytes() - allocatedBefore;
+                report.ops += count;
+            }
+        }
+        report.gcCount = gcCount() - gcCountBefore;
+        report.gcMillis = gcMillis() - gcMillisBefore;
+        report.checksum = sink;
+        return report;
+    }
+
+    // Random script that keeps a list or queue between empty and maxSize
+    // elements, so its cost per operation stays steady however long it runs
+    static long generate(Path script, boolean queue, long ops, int maxSize, long seed) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        boolean text = IntFileIO.isTextFile(script);
+        try (ScriptWriter writer = text ? new TextScriptWriter(script) : new BinaryScriptWriter(script)) {
+            int size = 0;
+            for (long i = 0; i < ops; i++) {
+                int roll = random.nextInt(100);
+                if (queue) {
+                    if (size == 0 || (roll < 50 && size < maxSize)) {
+                        writer.write(ENQUEUE, random.nextInt(1000), 0);
+                        size++;
+                    } else if (roll < 90 || size == maxSize) {
+                        writer.write(DEQUEUE, 0, 0);
+                        size--;
+                    } else {
+                        writer.write(PEEK, 0, 0);
+                    }
+                } else {
+                    if (size == 0 || (roll < 40 && size < maxSize)) {
+                        writer.write(APPEND, random.nextInt(1000), 0);
+                        size++;
+                    } else if (roll < 60) {
+                        writer.write(READ, random.nextInt(size) + 1, 0);
+                    } else if (roll < 80) {
+                        writer.write(UPDATE, random.nextInt(size) + 1, random.nextInt(1000));
+                    } else {
+                        writer.write(DELETE, random.nextInt(size) + 1, 0);
+                        size--;
+                    }
+                }
+            }
+        }
+        return ops;
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    // Outcome of one run; toString() is the printed report
+    static final class Report {
+        final String structure;
+        final OpStats latency;
+        final int sampleEvery;
+        long ops;
+        long failed;
+        long nanos;
+        long allocatedBytes;
+        long gcCount;
+        long gcMillis;
+        int checksum;
+
+        Report(String structure, OpStats latency, int sampleEvery) {
+            this.structure = structure;
+            this.latency = latency;
+            this.sampleEvery = sampleEvery;
+        }
+
+        double opsPerSecond() {
+            return nanos == 0 ? 0 : ops / (nanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            double seconds = nanos / 1e9;
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("%s: %,d ops (%,d failed) in %.3f s, %,.0f ops/s%n",
+                    structure, ops, failed, seconds, opsPerSecond()));
+            sb.append(String.format("Allocated %.1f MB, %.1f B/op, %.1f MB/s; GC %d collections, %d ms%n",
+                    allocatedBytes / (1024.0 * 1024.0), ops == 0 ? 0 : (double) allocatedBytes / ops,
+                    seconds == 0 ? 0 : allocatedBytes / (1024.0 * 1024.0) / seconds, gcCount, gcMillis));
+            sb.append(String.format("Latency in ns, 1 in %d operations sampled%n", sampleEvery));
+            sb.append(String.format("%-8s %12s %8s %8s %8s %8s %10s%n", "op", "samples", "p50", "p90", "p99", "p99.9", "max"));
+            for (int op = 1; op < NAMES.length; op++) {
+                OpStats.Snapshot s = latency.snapshot(op);
+                if (s.count == 0) continue;
+                sb.append(String.format("%-8s %12d %8d %8d %8d %8d %10d%n", NAMES[op], s.count,
+                        s.percentile(50), s.percentile(90), s.percentile(99), s.percentile(99.9), s.maxNanos()));
+            }
+            return sb.toString();
+        }
+    }
+
+    // Decodes up to max operations into the arrays, returns 0 at the end
+    private interface ScriptReader extends AutoCloseable {
+        int read(byte[] ops, int[] first, int[] second, int max) throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    // Shared refill logic: keeps at least `need` bytes buffered unless the
+    // file ends first
+    private abstract static class ChannelReader implements ScriptReader {
+        final FileChannel channel;
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER).order(ByteOrder.BIG_ENDIAN);
+        boolean eof;
+        long consumed;
+
+        ChannelReader(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            buffer.limit(0);
+        }
+
+        boolean ensure(int need) throws IOException {
+            while (buffer.remaining() < need && !eof) {
+                consumed += buffer.position();
+                buffer.compact();
+                eof = channel.read(buffer) < 0;
+                buffer.flip();
+            }
+            return buffer.remaining() >= need;
+        }
+
+        long offset() {
+            return consumed + buffer.position();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private static final class BinaryScriptReader extends ChannelReader {
+        BinaryScriptReader(Path path) throws IOException {
+            super(path);
+            if (!ensure(Integer.BYTES) || buffer.getInt() != BINARY_MAGIC) throw new IOException("Not a binary op script: " + path);
+        }
+
+        public int read(byte[] ops, int[] first, int[] second, int max) throws IOException {
+            int count = 0;
+            while (count < max && ensure(1)) {
+                long at = offset();
+                byte op = buffer.get();
+                if (op < APPEND || op > PEEK) throw new IOException("Unknown opcode " + op + " at byte " + at);
+                int arguments = ARGUMENTS[op];
+                if (!ensure(arguments * Integer.BYTES)) throw new IOException("Truncated " + NAMES[op] + " at byte " + at);
+                ops[count] = op;
+                first[count] = arguments > 0 ? buffer.getInt() : 0;
+                second[count] = arguments > 1 ? buffer.getInt() : 0;
+                count++;
+            }
+            return count;
+        }
+    }
+
+    // Parses byte by byte without creating Strings. The operation name is
+    // packed into a long (names are at most 8 letters) and compared against
+    // the packed forms of the known names.
+    private static final class TextScriptReader extends ChannelReader {
+        private static final long[] PACKED = new long[NAMES.length];
+        private static final long DEL = pack("DEL");
+        private static final long ENQ = pack("ENQ");
+        private static final long DEQ = pack("DEQ");
+
+        static {
+            for (int op = 1; op < NAMES.length; op++) {
+                PACKED[op] = pack(NAMES[op]);
+            }
+        }
+
+        private long line = 1;
+
+        TextScriptReader(Path path) throws IOException {
+            super(path);
+        }
+
+        private static long pack(String name) {
+            long packed = 0;
+            for (int i = 0; i < name.length(); i++) {
+                packed = packed << 8 | name.charAt(i);
+            }
+            return packed;
+        }
+
+        public int read(byte[] ops, int[] first, int[] second, int max) throws IOException {
+            int count = 0;
+            while (count < max) {
+                skipBlank();
+                if (!ensure(1)) break;
+                byte op = parseName();
+                ops[count] = op;
+                first[count] = ARGUMENTS[op] > 0 ? parseInt() : 0;
+                second[count] = ARGUMENTS[op] > 1 ? parseInt() : 0;
+                endOfLine();
+                count++;
+            }
+            return count;
+        }
+
+        // Skip whitespace, empty lines and # comments
+        private void skipBlank() throws IOException {
+            while (ensure(1)) {
+                byte c = buffer.get(buffer.position());
+                if (c == '#') {
+                    while (ensure(1) && buffer.get(buffer.position()) != '\n') {
+                        buffer.get();
+                    }
+                } else if (c == '\n') {
+                    buffer.get();
+                    line++;
+                } else if (c == ' ' || c == '\t' || c == '\r') {
+                    buffer.get();
+                } else {
+                    return;
+                }
+            }
+        }
+
+        private byte parseName() throws IOException {
+            long packed = 0;
+            int letters = 0;
+            while (ensure(1)) {
+                byte c = buffer.get(buffer.position());
+                if (c >= 'a' && c <= 'z') c -= 'a' - 'A';
+                if (c < 'A' || c > 'Z') break;
+                if (++letters > 8) throw new IOException("Unknown operation on line " + line);
+                packed = packed << 8 | c;
+                buffer.get();
+            }
+            if (packed == DEL) return DELETE;
+            if (packed == ENQ) return ENQUEUE;
+            if (packed == DEQ) return DEQUEUE;
+            for (byte op = 1; op < NAMES.length; op++) {
+                if (PACKED[op] == packed) return op;
+            }
+            throw new IOException("Unknown operation on line " + line);
+        }
+
+        private int parseInt() throws IOException {
+            while (ensure(1) && (buffer.get(buffer.position()) == ' ' || buffer.get(buffer.position()) == '\t')) {
+                buffer.get();
+            }
+            boolean negative = ensure(1) && buffer.get(buffer.position()) == '-';
+            if (negative) buffer.get();
+            long value = 0;
+            int digits = 0;
+            while (ensure(1)) {
+                byte c = buffer.get(buffer.position());
+                if (c < '0' || c > '9') break;
+                value = value * 10 + (c - '0');
+                if (value > 1L + Integer.MAX_VALUE) throw new IOException("Integer out of range on line " + line);
+                digits++;
+                buffer.get();
+            }
+            long signed = negative ? -value : value;
+            if (digits == 0 || signed > Integer.MAX_VALUE) throw new IOException("Expected an integer on line " + line);
+            return (int) signed;
+        }
+
+        // Only spaces or a comment may follow the arguments
+        private void endOfLine() throws IOException {
+            while (ensure(1)) {
+                byte c = buffer.get(buffer.position());
+                if (c == '\n' || c == '#') return;
+                if (c != ' ' && c != '\t' && c != '\r') throw new IOException("Unexpected '" + (char) c + "' on line " + line);
+                buffer.get();
+            }
+        }
+    }
+
+    private interface ScriptWriter extends AutoCloseable {
+        void write(byte op, int a, int b) throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private static final class BinaryScriptWriter implements ScriptWriter {
+        private final DataOutputStream out;
+
+        BinaryScriptWriter(Path path) throws IOException {
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), READ_BUFFER));
+            out.writeInt(BINARY_MAGIC);
+        }
+
+        public void write(byte op, int a, int b) throws IOException {
+            out.writeByte(op);
+            if (ARGUMENTS[op] > 0) out.writeInt(a);
+            if (ARGUMENTS[op] > 1) out.writeInt(b);
+        }
+
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    private static final class TextScriptWriter implements ScriptWriter {
+        private final Writer out;
+
+        TextScriptWriter(Path path) throws IOException {
+            out = new BufferedWriter(Files.newBufferedWriter(path, StandardCharsets.US_ASCII), READ_BUFFER);
+        }
+
+        public void write(byte op, int a, int b) throws IOException {
+            out.write(NAMES[op]);
+            if (ARGUMENTS[op] > 0) out.write(" " + a);
+            if (ARGUMENTS[op] > 1) out.write(" " + b);
+            out.write('\n');
+        }
+
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package dsa;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.swing.table.AbstractTableModel;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Operation counters and latency histograms for one instrumented structure.
+// Every thread records into its own Recorder, so recording is a handful of
+// single-writer stores with no locks and no shared cache lines. Readers (the
+// GUI stats panel and JMX) add the recorders up on demand.
+//
+// Instrumentation is off unless the JVM is started with -Ddsa.stats=true.
+// When it is off the GUIs build the plain lists and queues, so nothing is
+// wrapped and nothing is recorded.
+//
+// Latencies go into log-linear buckets in the style of HdrHistogram: values
+// below 64 ns get a bucket each, larger values get 32 buckets per power of
+// two, so every percentile is within about 3% of the real value.
+class OpStats {
+    static final boolean ENABLED = Boolean.getBoolean("dsa.stats");
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final String structure;
+    private final String[] operations;
+    private final CopyOnWriteArrayList<Recorder> recorders = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<Recorder> recorder = ThreadLocal.withInitial(this::newRecorder);
+    // Totals at the last reset, subtracted from every snapshot
+    private final AtomicReferenceArray<Snapshot> baseline;
+    private final ObjectName[] registered;
+
+    OpStats(String structure, String... operations) {
+        this.structure = structure;
+        this.operations = operations.clone();
+        baseline = new AtomicReferenceArray<>(operations.length);
+        registered = new ObjectName[operations.length];
+    }
+
+    String structure() {
+        return structure;
+    }
+
+    int operationCount() {
+        return operations.length;
+    }
+
+    String operationName(int operation) {
+        return operations[operation];
+    }
+
+    // Record one call of the given operation on the calling thread
+    void record(int operation, long nanos, long traversed) {
+        recorder.get().record(operation, nanos, traversed);
+    }
+
+    // Totals for one operation since the last reset, across all threads
+    Snapshot snapshot(int operation) {
+        Snapshot total = new Snapshot();
+        for (Recorder r : recorders) {
+            r.addTo(operation, total);
+        }
+        Snapshot base = baseline.get(operation);
+        if (base != null) total.subtract(base);
+        return total;
+    }
+
+    // Recorders are never written by the reader, so a reset just moves the
+    // baseline forward
+    void reset(int operation) {
+        Snapshot total = new Snapshot();
+        for (Recorder r : recorders) {
+            r.addTo(operation, total);
+        }
+        baseline.set(operation, total);
+    }
+
+    void reset() {
+        for (int i = 0; i < operations.length; i++) {
+            reset(i);
+        }
+    }
+
+    // Publish one MXBean per operation under
+    // dsa:type=OperationStats,structure=<structure>,operation=<operation>
+    void registerMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (int i = 0; i < operations.length; i++) {
+            try {
+                ObjectName name = ObjectName.getInstance("dsa:type=OperationStats,structure=" + ObjectName.quote(structure)
+                        + ",operation=" + ObjectName.quote(operations[i]));
+                server.registerMBean(new OperationStats(i), name);
+                registered[i] = name;
+            } catch (JMException e) {
+                System.err.println("Could not register stats MBean for " + operations[i] + ": " + e.getMessage());
+            }
+        }
+    }
+
+    void unregisterMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (int i = 0; i < registered.length; i++) {
+            if (registered[i] == null) continue;
+            try {
+                server.unregisterMBean(registered[i]);
+            } catch (JMException e) {
+                System.err.println("Could not unregister " + registered[i] + ": " + e.getMessage());
+            }
+            registered[i] = null;
+        }
+    }
+
+    private Recorder newRecorder() {
+        Recorder r = new Recorder(operations.length);
+        recorders.add(r);
+        return r;
+    }
+
+    static int bucketIndex(long nanos) {
+        if (nanos < 2 * SUB_BUCKETS) return (int) Math.max(nanos, 0);
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    // Largest value that falls into the bucket
+    static long bucketHighestValue(int index) {
+        if (index < 2 * SUB_BUCKETS) return index;
+        int exponent = index / SUB_BUCKETS + SUB_BITS - 1;
+        long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << (exponent - SUB_BITS);
+        return lowest + (1L << (exponent - SUB_BITS)) - 1;
+    }
+
+    // Written by one thread only. Opaque stores keep each long whole for the
+    // readers without the cost of a fence.
+    private static final class Recorder {
+        private final long[] counts;
+        private final long[] traversed;
+        private final long[] totalNanos;
+        private final long[] buckets;
+
+        Recorder(int operations) {
+            counts = new long[operations];
+            traversed = new long[operations];
+            totalNanos = new long[operations];
+            buckets = new long[operations * BUCKETS];
+        }
+
+        void record(int operation, long nanos, long nodes) {
+            increment(counts, operation, 1);
+            increment(traversed, operation, nodes);
+            increment(totalNanos, operation, nanos);
+            increment(buckets, operation * BUCKETS + bucketIndex(nanos), 1);
+        }
+
+        void addTo(int operation, Snapshot total) {
+            total.count += (long) SLOT.getOpaque(counts, operation);
+            total.traversed += (long) SLOT.getOpaque(traversed, operation);
+            total.totalNanos += (long) SLOT.getOpaque(totalNanos, operation);
+            int base = operation * BUCKETS;
+            for (int i = 0; i < BUCKETS; i++) {
+                total.buckets[i] += (long) SLOT.getOpaque(buckets, base + i);
+            }
+        }
+
+        private static void increment(long[] array, int index, long delta) {
+            SLOT.setOpaque(array, index, (long) SLOT.getOpaque(array, index) + delta);
+        }
+    }
+
+    // Point-in-time totals for one operation
+    static final class Snapshot {
+        long count;
+        long traversed;
+        long totalNanos;
+        final long[] buckets = new long[BUCKETS];
+
+        void subtract(Snapshot other) {
+            count -= other.count;
+            traversed -= other.traversed;
+            totalNanos -= other.totalNanos;
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] -= other.buckets[i];
+            }
+        }
+
+        double meanNanos() {
+            return count == 0 ? 0 : (double) totalNanos / count;
+        }
+
+        double meanTraversed() {
+            return count == 0 ? 0 : (double) traversed / count;
+        }
+
+        // Highest value of the bucket holding the given percentile (0..100)
+        long percentile(double percentile) {
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets[i];
+                if (seen >= rank) return bucketHighestValue(i);
+            }
+            return maxNanos();
+        }
+
+        long maxNanos() {
+            for (int i = BUCKETS - 1; i >= 0; i--) {
+                if (buckets[i] != 0) return bucketHighestValue(i);
+            }
+            return 0;
+        }
+    }
+
+    // JMX view of one operation
+    public interface OperationStatsMXBean {
+        long getCount();
+
+        long getNodesTraversed();
+
+        double getMeanNodesTraversed();
+
+        double getMeanNanos();
+
+        long getP50Nanos();
+
+        long getP90Nanos();
+
+        long getP99Nanos();
+
+        long getP999Nanos();
+
+        long getMaxNanos();
+
+        void reset();
+    }
+
+    private final class OperationStats implements OperationStatsMXBean {
+        private final int operation;
+
+        OperationStats(int operation) {
+            this.operation = operation;
+        }
+
+        public long getCount() {
+            return snapshot(operation).count;
+        }
+
+        public long getNodesTraversed() {
+            return snapshot(operation).traversed;
+        }
+
+        public double getMeanNodesTraversed() {
+            return snapshot(operation).meanTraversed();
+        }
+
+        public double getMeanNanos() {
+            return snapshot(operation).meanNanos();
+        }
+
+        public long getP50Nanos() {
+            return snapshot(operation).percentile(50);
+        }
+
+        public long getP90Nanos() {
+            return snapshot(operation).percentile(90);
+        }
+
+        public long getP99Nanos() {
+            return snapshot(operation).percentile(99);
+        }
+
+        public long getP999Nanos() {
+            return snapshot(operation).percentile(99.9);
+        }
+
+        public long getMaxNanos() {
+            return snapshot(operation).maxNanos();
+        }
+
+        public void reset() {
+            OpStats.this.reset(operation);
+        }
+    }
+
+    // Table for the GUI stats panel, one row per operation. Call refresh()
+    // from the EDT to pull fresh snapshots.
+    static final class TableModel extends AbstractTableModel {
+        private static final String[] COLUMNS = {"Operation", "Count", "Mean ns", "p50 ns", "p99 ns", "p99.9 ns", "Max ns", "Nodes/op"};
+
+        private final OpStats stats;
+        private final Object[][] rows;
+
+        TableModel(OpStats stats) {
+            this.stats = stats;
+            rows = new Object[stats.operationCount()][COLUMNS.length];
+            refresh();
+        }
+
+        void refresh() {
+            for (int i = 0; i < rows.length; i++) {
+                Snapshot s = stats.snapshot(i);
+                Object[] row = rows[i];
+                row[0] = stats.operationName(i);
+                row[1] = s.count;
+                row[2] = Math.round(s.meanNanos());
+                row[3] = s.percentile(50);
+                row[4] = s.percentile(99);
+                row[5] = s.percentile(99.9);
+                row[6] = s.maxNanos();
+                row[7] = String.format("%.1f", s.meanTraversed());
+            }
+            fireTableRowsUpdated(0, rows.length - 1);
+        }
+
+        public int getRowCount() {
+            return rows.length;
+        }
+
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        public Object getValueAt(int row, int column) {
+            return rows[row][column];
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package dsa;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+// Immutable list of ints stored as a balanced rope: a B-tree whose leaves
+// are int[] chunks of up to MAX_WIDTH values and whose branches hold up to
+// MAX_WIDTH children with their cumulative sizes. Every change copies only
+// the path from the root to one leaf (plus a sibling when nodes split or
+// merge) and shares everything else with the version it came from, so a
+// change costs O(log n) time and space and old versions stay valid forever.
+//
+// Indexes are 0-based, as in java.util; SnapshotList gives the
+// 1-based appendNode/readNode/updateNode/deleteNode interface of the other
+// lists on top of it.
+final class PersistentIntList implements Iterable<Integer> {
+    static final int MAX_WIDTH = 32;
+    private static final int MIN_WIDTH = MAX_WIDTH / 2;
+
+    static final PersistentIntList EMPTY = new PersistentIntList(new Leaf(new int[0]));
+
+    private final Tree root;
+
+    private PersistentIntList(Tree root) {
+        this.root = root;
+    }
+
+    // Packed list of values[offset..offset + count), built bottom-up in O(n)
+    static PersistentIntList of(int[] values, int offset, int count) {
+        if (offset < 0 || count < 0 || offset > values.length - count) throw new IndexOutOfBoundsException();
+        if (count == 0) return EMPTY;
+        int leaves = (count + MAX_WIDTH - 1) / MAX_WIDTH;
+        Tree[] level = new Tree[leaves];
+        int start = offset;
+        for (int i = 0; i < leaves; i++) {
+            int width = share(count, leaves, i);
+            level[i] = new Leaf(Arrays.copyOfRange(values, start, start + width));
+            start += width;
+        }
+        while (level.length > 1) {
+            int branches = (level.length + MAX_WIDTH - 1) / MAX_WIDTH;
+            Tree[] parents = new Tree[branches];
+            int first = 0;
+            for (int i = 0; i < branches; i++) {
+                int width = share(level.length, branches, i);
+                parents[i] = new Branch(Arrays.copyOfRange(level, first, first + width));
+                first += width;
+            }
+            level = parents;
+        }
+        return new PersistentIntList(level[0]);
+    }
+
+    int size() {
+        return root.size();
+    }
+
+    boolean isEmpty() {
+        return root.size() == 0;
+    }
+
+    int get(int index) {
+        checkIndex(index, size());
+        Tree tree = root;
+        while (tree instanceof Branch) {
+            Branch branch = (Branch) tree;
+            int k = branch.childFor(index);
+            index -= branch.offset(k);
+            tree = branch.children[k];
+        }
+        return ((Leaf) tree).values[index];
+    }
+
+    // New version with the value at index replaced
+    PersistentIntList with(int index, int value) {
+        checkIndex(index, size());
+        return new PersistentIntList(root.with(index, value));
+    }
+
+    // New version with value inserted so that it ends up at index (0..size())
+    PersistentIntList insert(int index, int value) {
+        checkIndex(index, size() + 1);
+        Tree inserted = root.insert(index, value);
+        if (inserted.width() > MAX_WIDTH) {
+            int cut = splitPoint(inserted, index == size());
+            inserted = new Branch(new Tree[]{inserted.slice(0, cut), inserted.slice(cut, inserted.width())});
+        }
+        return new PersistentIntList(inserted);
+    }
+
+    PersistentIntList append(int value) {
+        return insert(size(), value);
+    }
+
+    // New version without the value at index
+    PersistentIntList remove(int index) {
+        checkIndex(index, size());
+        Tree removed = root.remove(index);
+        while (removed instanceof Branch && removed.width() == 1) {
+            removed = ((Branch) removed).children[0];
+        }
+        return new PersistentIntList(removed);
+    }
+
+    // Named apart from Iterable.forEach so lambdas are not ambiguous
+    void forEachValue(IntConsumer action) {
+        root.forEach(action);
+    }
+
+    // Walks one leaf at a time; moving to the next leaf is a descent from the root
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private final int size = size();
+            private int index;
+            private int[] leaf = new int[0];
+            private int offset;
+
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            public int nextInt() {
+                if (index >= size) throw new NoSuchElementException();
+                if (offset == leaf.length) {
+                    int remaining = index;
+                    Tree tree = root;
+                    while (tree instanceof Branch) {
+                        Branch branch = (Branch) tree;
+                        int k = branch.childFor(remaining);
+                        remaining -= branch.offset(k);
+                        tree = branch.children[k];
+                    }
+                    leaf = ((Leaf) tree).values;
+                    offset = remaining;
+                }
+                index++;
+                return leaf[offset++];
+            }
+        };
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL);
+    }
+
+    IntStream stream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    // Height of the tree, 1 for a single leaf
+    int depth() {
+        int depth = 1;
+        for (Tree tree = root; tree instanceof Branch; tree = ((Branch) tree).children[0]) {
+            depth++;
+        }
+        return depth;
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) throw new IndexOutOfBoundsException("Index: " + index);
+    }
+
+    // Where to split an overfull node: in the middle, or after a full left
+    // node when the insert was at the end, so a list built by appends stays
+    // packed instead of half full
+    private static int splitPoint(Tree overfull, boolean appended) {
+        return appended ? MAX_WIDTH : overfull.width() / 2;
+    }
+
+    // Width of part i when total units are spread evenly over parts
+    private static int share(int total, int parts, int i) {
+        return total / parts + (i < total % parts ? 1 : 0);
+    }
+
+    // A node never changes after construction. insert may return a node one
+    // wider than MAX_WIDTH and remove one narrower than MIN_WIDTH; the parent
+    // (or the list, at the root) splits or merges it.
+    private abstract static class Tree {
+        abstract int size();
+
+        // Values in a leaf, children in a branch
+        abstract int width();
+
+        abstract Tree with(int index, int value);
+
+        abstract Tree insert(int index, int value);
+
+        abstract Tree remove(int index);
+
+        // Node of the same kind holding units from..to-1
+        abstract Tree slice(int from, int to);
+
+        // Node of the same kind holding this node's units followed by right's
+        abstract Tree join(Tree right);
+
+        abstract void forEach(IntConsumer action);
+    }
+
+    private static final class Leaf extends Tree {
+        final int[] values;
+
+        Leaf(int[] values) {
+            this.values = values;
+        }
+
+        int size() {
+            return values.length;
+        }
+
+        int width() {
+            return values.length;
+        }
+
+        Tree with(int index, int value) {
+            int[] copy = values.clone();
+            copy[index] = value;
+            return new Leaf(copy);
+        }
+
+        Tree insert(int index, int value) {
+            int[] copy = new int[values.length + 1];
+            System.arraycopy(values, 0, copy, 0, index);
+            copy[index] = value;
+            System.arraycopy(values, index, copy, index + 1, values.length - index);
+            return new Leaf(copy);
+        }
+
+        Tree remove(int index) {
+            int[] copy = new int[values.length - 1];
+            System.arraycopy(values, 0, copy, 0, index);
+            System.arraycopy(values, index + 1, copy, index, values.length - index - 1);
+            return new Leaf(copy);
+        }
+
+        Tree slice(int from, int to) {
+            return new Leaf(Arrays.copyOfRange(values, from, to));
+        }
+
+        Tree join(Tree right) {
+            int[] other = ((Leaf) right).values;
+            int[] joined = Arrays.copyOf(values, values.length + other.length);
+            System.arraycopy(other, 0, joined, values.length, other.length);
+            return new Leaf(joined);
+        }
+
+        void forEach(IntConsumer action) {
+            for (int value : values) {
+                action.accept(value);
+            }
+        }
+    }
+
+    private static final class Branch extends Tree {
+        final Tree[] children;
+        // sizes[k] is the number of values in children 0..k
+        final int[] sizes;
+
+        Branch(Tree[] children) {
+            this.children = children;
+            sizes = new int[children.length];
+            int total = 0;
+            for (int k = 0; k < children.length; k++) {
+                total += children[k].size();
+                sizes[k] = total;
+            }
+        }
+
+        // Same children sizes, so the size table can be shared
+        private Branch(Tree[] children, int[] sizes) {
+            this.children = children;
+            this.sizes = sizes;
+        }
+
+        int size() {
+            return sizes[sizes.length - 1];
+        }
+
+        int width() {
+            return children.length;
+        }
+
+        // Child holding index, or the last child when index == size()
+        int childFor(int index) {
+            int lo = 0;
+            int hi = sizes.length - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (sizes[mid] > index) hi = mid;
+                else lo = mid + 1;
+            }
+            return lo;
+        }
+
+        int offset(int k) {
+            return k == 0 ? 0 : sizes[k - 1];
+        }
+
+        Tree with(int index, int value) {
+            int k = childFor(index);
+            Tree[] copy = children.clone();
+            copy[k] = children[k].with(index - offset(k), value);
+            return new Branch(copy, sizes);
+        }
+
+        Tree insert(int index, int value) {
+            int k = childFor(index);
+            Tree child = children[k].insert(index - offset(k), value);
+            if (child.width() <= MAX_WIDTH) return new Branch(replace(k, 1, child));
+            int cut = splitPoint(child, index == size());
+            return new Branch(replace(k, 1, child.slice(0, cut), child.slice(cut, child.width())));
+        }
+
+        Tree remove(int index) {
+            int k = childFor(index);
+            Tree child = children[k].remove(index - offset(k));
+            if (child.width() >= MIN_WIDTH || children.length == 1) return new Branch(replace(k, 1, child));
+            // Merge the thin child with a neighbour, or share their units evenly
+            int left = k > 0 ? k - 1 : k;
+            Tree joined = left == k ? child.join(children[k + 1]) : children[left].join(child);
+            if (joined.width() <= MAX_WIDTH) return new Branch(replace(left, 2, joined));
+            int half = joined.width() / 2;
+            return new Branch(replace(left, 2, joined.slice(0, half), joined.slice(half, joined.width())));
+        }
+
+        Tree slice(int from, int to) {
+            return new Branch(Arrays.copyOfRange(children, from, to));
+        }
+
+        Tree join(Tree right) {
+            Tree[] other = ((Branch) right).children;
+            Tree[] joined = Arrays.copyOf(children, children.length + other.length);
+            System.arraycopy(other, 0, joined, children.length, other.length);
+            return new Branch(joined);
+        }
+
+        void forEach(IntConsumer action) {
+            for (Tree child : children) {
+                child.forEach(action);
+            }
+        }
+
+        // Copy of children with count entries from k replaced by nodes
+        private Tree[] replace(int k, int count, Tree... nodes) {
+            Tree[] copy = new Tree[children.length - count + nodes.length];
+            System.arraycopy(children, 0, copy, 0, k);
+            System.arraycopy(nodes, 0, copy, k, nodes.length);
+            System.arraycopy(children, k + count, copy, k + nodes.length, children.length - k - count);
+            return copy;
+        }
+    }
+}
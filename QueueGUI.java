@@ -1,24 +1,72 @@
+package dsa;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
-import java.util.Stack;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
 
 public class QueueGUI extends JFrame {
-    private JTextArea displayArea;
+    private static final int FRAME_MILLIS = 16;
+    private static final int BULK_COUNT = 1_000_000;
+    private static final int BULK_CHUNK = 10_000;
+    private static final int STATS_FRAMES = 30;
+    // Capacity of the bounded queue types, small enough to see them fill up
+    private static final int GUI_CAPACITY = 5;
+
+    private final Object queueLock = new Object();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "queue-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private QueueViewModel queueModel;
+    private JLabel summaryLabel;
+    private JLabel statusLabel;
     private JTextField inputField;
     private JComboBox<String> queueTypeComboBox;
+    private JButton addFrontButton;
+    private JButton removeRearButton;
+    // Heap allocated by the last bulk enqueue, shown in the status line
+    private volatile String lastBulkAllocation;
+    // Guarded by queueLock
     private Queue selectedQueue;
+    private String selectedType;
+    // Null unless started with -Ddsa.stats=true
+    private final OpStats stats = OpStats.ENABLED ? new OpStats("Queue", InstrumentedQueue.OPERATIONS) : null;
+    private OpStats.TableModel statsModel;
+    private int framesSinceStats;
 
     public QueueGUI() {
         setTitle("Queue GUI");
-        setSize(500, 400);
+        setSize(960, 400);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLayout(new BorderLayout());
 
-        // Display area for queue content
-        displayArea = new JTextArea();
-        displayArea.setEditable(false);
-        add(new JScrollPane(displayArea), BorderLayout.CENTER);
+        // Virtualized view of the queue content, only visible rows are rendered
+        queueModel = new QueueViewModel();
+        JList<String> displayList = new JList<>(queueModel);
+        displayList.setPrototypeCellValue("0000000: -0000000000");
+        summaryLabel = new JLabel();
+        statusLabel = new JLabel();
+        JPanel displayPanel = new JPanel(new BorderLayout());
+        displayPanel.add(summaryLabel, BorderLayout.NORTH);
+        displayPanel.add(new JScrollPane(displayList), BorderLayout.CENTER);
+        displayPanel.add(statusLabel, BorderLayout.SOUTH);
+        add(displayPanel, BorderLayout.CENTER);
 
         // Panel for input fields and buttons
         JPanel inputPanel = new JPanel(new FlowLayout());
@@ -38,75 +86,274 @@ public class QueueGUI extends JFrame {
         peekButton.addActionListener(this::peekCallback);
         inputPanel.add(peekButton);
 
+        // Deque only: the other end of the ring
+        addFrontButton = new JButton("Add Front");
+        addFrontButton.addActionListener(this::addFrontCallback);
+        inputPanel.add(addFrontButton);
+
+        removeRearButton = new JButton("Remove Rear");
+        removeRearButton.addActionListener(this::removeRearCallback);
+        inputPanel.add(removeRearButton);
+
+        JButton bulkEnqueueButton = new JButton("Bulk Enqueue 1M");
+        bulkEnqueueButton.addActionListener(this::bulkEnqueueCallback);
+        inputPanel.add(bulkEnqueueButton);
+
+        JButton importButton = new JButton("Import...");
+        importButton.addActionListener(this::importCallback);
+        inputPanel.add(importButton);
+
+        JButton exportButton = new JButton("Export...");
+        exportButton.addActionListener(this::exportCallback);
+        inputPanel.add(exportButton);
+
         add(inputPanel, BorderLayout.SOUTH);
 
+        // Live per-operation stats, only when instrumentation is on
+        if (stats != null) {
+            statsModel = new OpStats.TableModel(stats);
+            JScrollPane statsPane = new JScrollPane(new JTable(statsModel));
+            statsPane.setPreferredSize(new Dimension(560, 0));
+            add(statsPane, BorderLayout.EAST);
+            setSize(getWidth() + 560, getHeight());
+            stats.registerMBeans();
+        }
+
         // Dropdown to select queue type
         JPanel topPanel = new JPanel(new FlowLayout());
-        String[] queueTypes = {"Queue", "Priority Queue", "Circular Queue", "Deque", "Queue Using Stacks"};
-        queueTypeComboBox = new JComboBox<>(queueTypes);
+        queueTypeComboBox = new JComboBox<>(Queue.TYPES);
         queueTypeComboBox.addActionListener(this::queueTypeChanged);
         topPanel.add(new JLabel("Select Queue Type:"));
         topPanel.add(queueTypeComboBox);
         add(topPanel, BorderLayout.NORTH);
 
         // Set initial queue type
-        queueTypeChanged(null);
+        selectedType = (String) queueTypeComboBox.getSelectedItem();
+        selectedQueue = createQueue(selectedType);
+        updateDequeButtons(selectedType);
+
+        // Repaint at most once per frame, however many operations completed
+        new Timer(FRAME_MILLIS, e -> refreshDisplay()).start();
+        refreshDisplay();
+    }
+
+    // Wraps the queue for stats when instrumentation is on
+    private Queue createQueue(String type) {
+        Queue queue = createPlainQueue(type);
+        return stats != null ? new InstrumentedQueue(queue, stats) : queue;
+    }
+
+    private Queue createPlainQueue(String type) {
+        return Queue.create(type, GUI_CAPACITY);
     }
 
     private void queueTypeChanged(ActionEvent e) {
-        String selectedType = (String) queueTypeComboBox.getSelectedItem();
-        switch (selectedType) {
-            case "Queue":
-                selectedQueue = new SimpleQueue();
-                break;
-            case "Priority Queue":
-                selectedQueue = new PriorityQueue();
-                break;
-            case "Circular Queue":
-                selectedQueue = new CircularQueue(5);
-                break;
-            case "Deque":
-                selectedQueue = new Deque();
-                break;
-            case "Queue Using Stacks":
-                selectedQueue = new QueueUsingStacks();
-                break;
-        }
-        refreshDisplay();
+        String type = (String) queueTypeComboBox.getSelectedItem();
+        updateDequeButtons(type);
+        submit(() -> {
+            synchronized (queueLock) {
+                selectedQueue = createQueue(type);
+                selectedType = type;
+                if (stats != null) stats.reset();
+                queueModel.markChanged(0);
+            }
+        });
     }
 
     private void enqueueCallback(ActionEvent e) {
         try {
             int data = Integer.parseInt(inputField.getText());
-            selectedQueue.enqueue(data);
+            submit(() -> {
+                try {
+                    synchronized (queueLock) {
+                        selectedQueue.enqueue(data);
+                        queueModel.markEnqueued();
+                    }
+                } catch (IllegalStateException ex) {
+                    showMessageLater(ex.getMessage());
+                }
+            });
             inputField.setText("");
-            refreshDisplay();
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(this, "Please enter a valid integer.");
         }
     }
 
-    private void dequeueCallback(ActionEvent e) {
+    private void updateDequeButtons(String type) {
+        boolean deque = "Deque".equals(type);
+        addFrontButton.setEnabled(deque);
+        removeRearButton.setEnabled(deque);
+    }
+
+    private void addFrontCallback(ActionEvent e) {
         try {
-            int data = selectedQueue.dequeue();
-            JOptionPane.showMessageDialog(this, "Dequeued: " + data);
-            refreshDisplay();
-        } catch (IllegalStateException ex) {
-            JOptionPane.showMessageDialog(this, ex.getMessage());
+            int data = Integer.parseInt(inputField.getText());
+            submit(() -> {
+                synchronized (queueLock) {
+                    Queue queue = InstrumentedQueue.unwrap(selectedQueue);
+                    if (!(queue instanceof Deque)) return;
+                    ((Deque) queue).addFront(data);
+                    queueModel.markChanged(0);
+                }
+            });
+            inputField.setText("");
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Please enter a valid integer.");
         }
     }
 
+    private void removeRearCallback(ActionEvent e) {
+        submit(() -> {
+            try {
+                int data;
+                synchronized (queueLock) {
+                    Queue queue = InstrumentedQueue.unwrap(selectedQueue);
+                    if (!(queue instanceof Deque)) return;
+                    data = ((Deque) queue).removeRear();
+                    queueModel.markChanged(queue.size());
+                }
+                showMessageLater("Removed from rear: " + data);
+            } catch (IllegalStateException ex) {
+                showMessageLater(ex.getMessage());
+            }
+        });
+    }
+
+    private void dequeueCallback(ActionEvent e) {
+        submit(() -> {
+            try {
+                int data;
+                synchronized (queueLock) {
+                    data = selectedQueue.dequeue();
+                    queueModel.markChanged(0);
+                }
+                showMessageLater("Dequeued: " + data);
+            } catch (IllegalStateException ex) {
+                showMessageLater(ex.getMessage());
+            }
+        });
+    }
+
     private void peekCallback(ActionEvent e) {
-        try {
-            int data = selectedQueue.peek();
-            JOptionPane.showMessageDialog(this, "Peek: " + data);
-        } catch (IllegalStateException ex) {
-            JOptionPane.showMessageDialog(this, ex.getMessage());
+        submit(() -> {
+            try {
+                int data;
+                synchronized (queueLock) {
+                    data = selectedQueue.peek();
+                }
+                showMessageLater("Peek: " + data);
+            } catch (IllegalStateException ex) {
+                showMessageLater(ex.getMessage());
+            }
+        });
+    }
+
+    // Enqueue a million random values; the lock is released between chunks so
+    // the view keeps painting, and a bounded queue stops the job when full
+    private void bulkEnqueueCallback(ActionEvent e) {
+        submit(() -> {
+            Random random = new Random();
+            int done = 0;
+            long allocatedBefore = allocatedBytes();
+            try {
+                while (done < BULK_COUNT) {
+                    synchronized (queueLock) {
+                        for (int i = 0; i < BULK_CHUNK; i++) {
+                            selectedQueue.enqueue(random.nextInt(1000));
+                            done++;
+                        }
+                        queueModel.markEnqueued();
+                    }
+                }
+            } catch (IllegalStateException ex) {
+                synchronized (queueLock) {
+                    queueModel.markEnqueued();
+                }
+                showMessageLater(ex.getMessage() + " after " + done + " elements");
+            }
+            long allocated = allocatedBytes() - allocatedBefore;
+            lastBulkAllocation = String.format("last bulk enqueue allocated %.1f MB (%.1f B/element)",
+                    allocated / (1024.0 * 1024.0), done == 0 ? 0.0 : (double) allocated / done);
+        });
+    }
+
+    // Bytes allocated so far by the calling thread, 0 if the JVM cannot tell
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getCurrentThreadAllocatedBytes();
         }
+        return 0;
+    }
+
+    // Load a binary or text int file into the selected queue
+    private void importCallback(ActionEvent e) {
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        Path path = chooser.getSelectedFile().toPath();
+        submit(() -> {
+            BatchEnqueuer enqueuer = new BatchEnqueuer();
+            try {
+                IntFileIO.Transfer transfer = IntFileIO.load(path, enqueuer);
+                enqueuer.flush();
+                showMessageLater("Imported " + transfer);
+            } catch (IOException ex) {
+                showMessageLater("Import failed: " + ex.getMessage());
+            } catch (IllegalStateException ex) {
+                showMessageLater("Import stopped: " + ex.getMessage());
+            }
+        });
+    }
+
+    // Write the selected queue, front to rear, to a binary or text int file.
+    // The worker is the only thread that changes the queue, so it can read it
+    // without the lock.
+    private void exportCallback(ActionEvent e) {
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        Path path = chooser.getSelectedFile().toPath();
+        submit(() -> {
+            try {
+                IntFileIO.Transfer transfer = IntFileIO.export(path, selectedQueue::forEach);
+                showMessageLater("Exported " + transfer);
+            } catch (IOException ex) {
+                showMessageLater("Export failed: " + ex.getMessage());
+            }
+        });
+    }
+
+    // Queue an operation for the worker thread; the view catches up on the next frame
+    private void submit(Runnable operation) {
+        inFlight.incrementAndGet();
+        worker.execute(() -> {
+            try {
+                operation.run();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
     }
 
+    private void showMessageLater(String message) {
+        SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this, message));
+    }
+
+    // Push the changes since the last frame to the view and refresh the labels
     private void refreshDisplay() {
-        displayArea.setText(selectedQueue.toString());
+        int size = queueModel.flush();
+        String type;
+        synchronized (queueLock) {
+            type = selectedType;
+        }
+        summaryLabel.setText(type + ": " + size + " elements");
+        int pending = inFlight.get();
+        String allocation = lastBulkAllocation;
+        if (pending != 0) statusLabel.setText(pending + " operation(s) in flight");
+        else statusLabel.setText(allocation == null ? "Idle" : "Idle, " + allocation);
+        if (statsModel != null && ++framesSinceStats >= STATS_FRAMES) {
+            framesSinceStats = 0;
+            statsModel.refresh();
+        }
     }
 
     public static void main(String[] args) {
@@ -116,15 +363,211 @@ public class QueueGUI extends JFrame {
         });
     }
 
+    // Collects imported values and enqueues them under the lock one chunk at a
+    // time, so the view keeps painting during a large import
+    private class BatchEnqueuer implements IntConsumer {
+        private final int[] batch = new int[BULK_CHUNK];
+        private int count;
+
+        public void accept(int value) {
+            batch[count++] = value;
+            if (count == batch.length) flush();
+        }
+
+        void flush() {
+            synchronized (queueLock) {
+                try {
+                    for (int i = 0; i < count; i++) {
+                        selectedQueue.enqueue(batch[i]);
+                    }
+                } finally {
+                    count = 0;
+                    queueModel.markEnqueued();
+                }
+            }
+        }
+    }
+
+    // List model that reads rows on demand through Queue.get, so JList only
+    // touches the visible window. The worker marks what it changed and the
+    // Swing timer turns that into at most one batch of events per frame.
+    private class QueueViewModel extends AbstractListModel<String> {
+        private int rowCount;
+        // Guarded by queueLock
+        private boolean dirty;
+        private int firstChangedIndex = Integer.MAX_VALUE;
+
+        public int getSize() {
+            return rowCount;
+        }
+
+        public String getElementAt(int index) {
+            synchronized (queueLock) {
+                if (index >= selectedQueue.size()) return "";
+                return index + ": " + selectedQueue.get(index);
+            }
+        }
+
+        // Worker side, called under queueLock after an enqueue
+        void markEnqueued() {
+            // A heap insert can move elements anywhere along its sift path
+            if (InstrumentedQueue.unwrap(selectedQueue) instanceof PriorityQueue) markChanged(0);
+            else dirty = true;
+        }
+
+        // Worker side, called under queueLock after rows from index on changed
+        void markChanged(int index) {
+            dirty = true;
+            firstChangedIndex = Math.min(firstChangedIndex, index);
+        }
+
+        // EDT side, fires one batch of events for everything marked since the
+        // last flush and returns the current size
+        int flush() {
+            int newCount;
+            int firstChanged;
+            synchronized (queueLock) {
+                if (!dirty) return rowCount;
+                newCount = selectedQueue.size();
+                firstChanged = firstChangedIndex;
+                dirty = false;
+                firstChangedIndex = Integer.MAX_VALUE;
+            }
+            int oldCount = rowCount;
+            rowCount = newCount;
+            if (newCount > oldCount) fireIntervalAdded(this, oldCount, newCount - 1);
+            if (newCount < oldCount) fireIntervalRemoved(this, newCount, oldCount - 1);
+            int lastCommon = Math.min(oldCount, newCount) - 1;
+            if (firstChanged <= lastCommon) fireContentsChanged(this, firstChanged, lastCommon);
+            return newCount;
+        }
+    }
+
     interface Queue {
+        String[] TYPES = {"Queue", "Priority Queue", "Circular Queue", "Blocking Circular Queue", "Growable Circular Queue",
+                "SPSC Ring Buffer", "Lock-Free Queue", "Deque", "Work-Stealing Deque", "Queue Using Stacks"};
+
+        // New empty queue of one of the TYPES; capacity only applies to the
+        // bounded ones. Lives here rather than in QueueGUI so headless code can
+        // build queues without loading any Swing classes.
+        static Queue create(String type, int capacity) {
+            switch (type) {
+                case "Queue":
+                    return new SimpleQueue();
+                case "Priority Queue":
+                    return new PriorityQueue();
+                case "Circular Queue":
+                    return new CircularQueue(capacity);
+                case "Blocking Circular Queue":
+                    return new BlockingCircularQueue(capacity);
+                case "Growable Circular Queue":
+                    return new GrowableCircularQueue(4);
+                case "SPSC Ring Buffer":
+                    return new SpscRingQueue(capacity);
+                case "Lock-Free Queue":
+                    return new LockFreeQueue();
+                case "Deque":
+                    return new Deque();
+                case "Work-Stealing Deque":
+                    return new WorkStealingDeque();
+                case "Queue Using Stacks":
+                    return new QueueUsingStacks();
+                default:
+                    throw new IllegalArgumentException("Unknown queue type: " + type);
+            }
+        }
+
         void enqueue(int data);
         int dequeue();
         int peek();
+        int size();
+        // Element by index from the front, in the order toString() lists them
+        int get(int index);
         String toString();
+
+        // Every element from the front, in get() order
+        default void forEach(IntConsumer action) {
+            for (int i = 0, n = size(); i < n; i++) {
+                action.accept(get(i));
+            }
+        }
     }
 
-    class SimpleQueue implements Queue {
+    // Decorator that times enqueue, dequeue, peek and get into OpStats.
+    // Only used when instrumentation is on; everything else passes through.
+    static class InstrumentedQueue implements Queue {
+        static final String[] OPERATIONS = {"enqueue", "dequeue", "peek", "get"};
+        private static final int ENQUEUE = 0;
+        private static final int DEQUEUE = 1;
+        private static final int PEEK = 2;
+        private static final int GET = 3;
+
+        private final Queue delegate;
+        private final OpStats stats;
+
+        InstrumentedQueue(Queue delegate, OpStats stats) {
+            this.delegate = delegate;
+            this.stats = stats;
+        }
+
+        static Queue unwrap(Queue queue) {
+            return queue instanceof InstrumentedQueue ? ((InstrumentedQueue) queue).delegate : queue;
+        }
+
+        // A failed call is still recorded, it took time too
+        public void enqueue(int data) {
+            long start = System.nanoTime();
+            try {
+                delegate.enqueue(data);
+            } finally {
+                stats.record(ENQUEUE, System.nanoTime() - start, 0);
+            }
+        }
+
+        public int dequeue() {
+            long start = System.nanoTime();
+            try {
+                return delegate.dequeue();
+            } finally {
+                stats.record(DEQUEUE, System.nanoTime() - start, 0);
+            }
+        }
+
+        public int peek() {
+            long start = System.nanoTime();
+            try {
+                return delegate.peek();
+            } finally {
+                stats.record(PEEK, System.nanoTime() - start, 0);
+            }
+        }
+
+        public int get(int index) {
+            long start = System.nanoTime();
+            try {
+                return delegate.get(index);
+            } finally {
+                stats.record(GET, System.nanoTime() - start, 0);
+            }
+        }
+
+        public int size() {
+            return delegate.size();
+        }
+
+        public void forEach(IntConsumer action) {
+            delegate.forEach(action);
+        }
+
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+
+    static class SimpleQueue implements Queue {
         private Node front, rear;
+        private Node cursor;
+        private int cursorIndex, size;
 
         public void enqueue(int data) {
             Node newNode = new Node(data);
@@ -134,13 +577,17 @@ public class QueueGUI extends JFrame {
                 rear.next = newNode;
                 rear = newNode;
             }
+            size++;
         }
 
         public int dequeue() {
             if (front == null) throw new IllegalStateException("Queue is empty");
+            if (cursor == front) cursor = null;
+            else cursorIndex--;
             int data = front.data;
             front = front.next;
             if (front == null) rear = null;
+            size--;
             return data;
         }
 
@@ -149,6 +596,25 @@ public class QueueGUI extends JFrame {
             return front.data;
         }
 
+        public int size() {
+            return size;
+        }
+
+        // Continues from the last node visited, so reading consecutive
+        // indexes walks each link once
+        public int get(int index) {
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index);
+            if (cursor == null || index < cursorIndex) {
+                cursor = front;
+                cursorIndex = 0;
+            }
+            while (cursorIndex < index) {
+                cursor = cursor.next;
+                cursorIndex++;
+            }
+            return cursor.data;
+        }
+
         public String toString() {
             StringBuilder sb = new StringBuilder("Queue: ");
             Node current = front;
@@ -161,49 +627,105 @@ public class QueueGUI extends JFrame {
         }
     }
 
-    class PriorityQueue implements Queue {
-        private Node front;
+    static class PriorityQueue implements Queue {
+        private static final int DEFAULT_ARITY = 4;
+        private static final int DEFAULT_CAPACITY = 16;
+
+        private final int arity;
+        private int[] heap;
+        private int size;
+
+        public PriorityQueue() {
+            this(DEFAULT_ARITY);
+        }
+
+        public PriorityQueue(int arity) {
+            if (arity < 2) throw new IllegalArgumentException("Heap arity must be at least 2");
+            this.arity = arity;
+            heap = new int[DEFAULT_CAPACITY];
+        }
+
+        // Bulk build from an array in O(n) by sifting down every internal node
+        public PriorityQueue(int[] values, int arity) {
+            this(arity);
+            heap = Arrays.copyOf(values, Math.max(values.length, DEFAULT_CAPACITY));
+            size = values.length;
+            for (int i = (size - 2) / arity; i >= 0; i--) {
+                siftDown(i, heap[i]);
+            }
+        }
 
         public void enqueue(int data) {
-            Node newNode = new Node(data);
-            if (front == null || data < front.data) {
-                newNode.next = front;
-                front = newNode;
-            } else {
-                Node current = front;
-                while (current.next != null && current.next.data <= data) {
-                    current = current.next;
-                }
-                newNode.next = current.next;
-                current.next = newNode;
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, heap.length << 1);
             }
+            siftUp(size++, data);
         }
 
         public int dequeue() {
-            if (front == null) throw new IllegalStateException("Priority Queue is empty");
-            int data = front.data;
-            front = front.next;
+            if (size == 0) throw new IllegalStateException("Priority Queue is empty");
+            int data = heap[0];
+            int last = heap[--size];
+            if (size > 0) {
+                siftDown(0, last);
+            }
             return data;
         }
 
         public int peek() {
-            if (front == null) throw new IllegalStateException("Priority Queue is empty");
-            return front.data;
+            if (size == 0) throw new IllegalStateException("Priority Queue is empty");
+            return heap[0];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        // Element in heap (array) order
+        public int get(int index) {
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index);
+            return heap[index];
+        }
+
+        // Move the hole at index up until data fits, then drop data into it
+        private void siftUp(int index, int data) {
+            while (index > 0) {
+                int parent = (index - 1) / arity;
+                if (heap[parent] <= data) break;
+                heap[index] = heap[parent];
+                index = parent;
+            }
+            heap[index] = data;
+        }
+
+        // Move the hole at index down past smaller children, then drop data into it
+        private void siftDown(int index, int data) {
+            while (true) {
+                int firstChild = index * arity + 1;
+                if (firstChild >= size) break;
+                int lastChild = Math.min(firstChild + arity, size);
+                int smallest = firstChild;
+                for (int child = firstChild + 1; child < lastChild; child++) {
+                    if (heap[child] < heap[smallest]) smallest = child;
+                }
+                if (heap[smallest] >= data) break;
+                heap[index] = heap[smallest];
+                index = smallest;
+            }
+            heap[index] = data;
         }
 
         public String toString() {
-            StringBuilder sb = new StringBuilder("Priority Queue: ");
-            Node current = front;
-            while (current != null) {
-                sb.append(current.data).append(" -> ");
-                current = current.next;
+            StringBuilder sb = new StringBuilder("Priority Queue (heap order): ");
+            for (int i = 0; i < size; i++) {
+                sb.append(heap[i]).append(" -> ");
             }
             sb.append("null");
             return sb.toString();
         }
     }
 
-    class CircularQueue implements Queue {
+    static class CircularQueue implements Queue {
         private int[] queue;
         private int front, rear, size, capacity;
 
@@ -234,6 +756,15 @@ public class QueueGUI extends JFrame {
             return queue[front];
         }
 
+        public int size() {
+            return size;
+        }
+
+        public int get(int index) {
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index);
+            return queue[(front + index) % capacity];
+        }
+
         public boolean isFull() {
             return size == capacity;
         }
@@ -252,110 +783,1021 @@ public class QueueGUI extends JFrame {
         }
     }
 
-    class Deque implements Queue {
-        private Node front, rear;
+    // Bounded circular queue with blocking put/take for passing work between
+    // pipeline stages. Producers and consumers take separate locks, as in
+    // LinkedBlockingQueue, and agree on the element count through an atomic,
+    // so a put and a take never contend with each other. Wake-ups cascade
+    // instead of broadcasting: a producer is only signalled when the queue
+    // leaves the full state, and every thread that gets in passes one signal
+    // on if there is still room (or data), so a crowd of parked producers is
+    // woken one at a time rather than all at once. Waiting goes through
+    // ReentrantLock conditions, never through monitors.
+    //
+    // enqueue and dequeue keep the non-blocking Queue contract and throw when
+    // full or empty; poll reports an empty queue with EMPTY.
+    static class BlockingCircularQueue implements Queue {
+        static final long EMPTY = Long.MIN_VALUE;
+
+        private final int[] items;
+        // Guarded by putLock
+        private int putIndex;
+        // Guarded by takeLock
+        private int takeIndex;
+        private final AtomicInteger count = new AtomicInteger();
+        private final ReentrantLock putLock = new ReentrantLock();
+        private final Condition notFull = putLock.newCondition();
+        private final ReentrantLock takeLock = new ReentrantLock();
+        private final Condition notEmpty = takeLock.newCondition();
+
+        public BlockingCircularQueue(int capacity) {
+            if (capacity < 1) throw new IllegalArgumentException("Invalid queue capacity: " + capacity);
+            items = new int[capacity];
+        }
+
+        // Wait for room, then add at the rear
+        public void put(int data) throws InterruptedException {
+            int c;
+            putLock.lockInterruptibly();
+            try {
+                while (count.get() == items.length) {
+                    notFull.await();
+                }
+                c = insert(data);
+            } finally {
+                putLock.unlock();
+            }
+            if (c == 0) signalNotEmpty();
+        }
+
+        public boolean offer(int data) {
+            if (count.get() == items.length) return false;
+            int c;
+            putLock.lock();
+            try {
+                if (count.get() == items.length) return false;
+                c = insert(data);
+            } finally {
+                putLock.unlock();
+            }
+            if (c == 0) signalNotEmpty();
+            return true;
+        }
+
+        // Wait up to the timeout for room; false if there was none
+        public boolean offer(int data, long timeout, TimeUnit unit) throws InterruptedException {
+            long nanos = unit.toNanos(timeout);
+            int c;
+            putLock.lockInterruptibly();
+            try {
+                while (count.get() == items.length) {
+                    if (nanos <= 0) return false;
+                    nanos = notFull.awaitNanos(nanos);
+                }
+                c = insert(data);
+            } finally {
+                putLock.unlock();
+            }
+            if (c == 0) signalNotEmpty();
+            return true;
+        }
 
         public void enqueue(int data) {
-            addRear(data);
+            if (!offer(data)) throw new IllegalStateException("Blocking Circular Queue is full");
         }
 
-        public void addFront(int data) {
-            Node newNode = new Node(data);
-            if (front == null) {
-                front = rear = newNode;
-            } else {
-                newNode.next = front;
-                front.prev = newNode;
-                front = newNode;
+        // Wait for an element, then remove it from the front
+        public int take() throws InterruptedException {
+            int data;
+            int c;
+            takeLock.lockInterruptibly();
+            try {
+                while (count.get() == 0) {
+                    notEmpty.await();
+                }
+                data = items[takeIndex];
+                c = advanceTake(1);
+            } finally {
+                takeLock.unlock();
             }
+            if (c == items.length) signalNotFull();
+            return data;
         }
 
-        public void addRear(int data) {
+        public long poll() {
+            if (count.get() == 0) return EMPTY;
+            int data;
+            int c;
+            takeLock.lock();
+            try {
+                if (count.get() == 0) return EMPTY;
+                data = items[takeIndex];
+                c = advanceTake(1);
+            } finally {
+                takeLock.unlock();
+            }
+            if (c == items.length) signalNotFull();
+            return data;
+        }
+
+        // Wait up to the timeout for an element; EMPTY if none arrived
+        public long poll(long timeout, TimeUnit unit) throws InterruptedException {
+            long nanos = unit.toNanos(timeout);
+            int data;
+            int c;
+            takeLock.lockInterruptibly();
+            try {
+                while (count.get() == 0) {
+                    if (nanos <= 0) return EMPTY;
+                    nanos = notEmpty.awaitNanos(nanos);
+                }
+                data = items[takeIndex];
+                c = advanceTake(1);
+            } finally {
+                takeLock.unlock();
+            }
+            if (c == items.length) signalNotFull();
+            return data;
+        }
+
+        public int dequeue() {
+            long data = poll();
+            if (data == EMPTY) throw new IllegalStateException("Blocking Circular Queue is empty");
+            return (int) data;
+        }
+
+        // Move up to max waiting elements into dst without blocking, with one
+        // lock round trip and at most one wake-up; returns how many were moved
+        public int drainTo(int[] dst, int max) {
+            return drainTo(dst, 0, max);
+        }
+
+        // Bounds are checked before the lock, so a bad call removes nothing
+        public int drainTo(int[] dst, int off, int max) {
+            if (off < 0 || max < 0 || off > dst.length) throw new IndexOutOfBoundsException();
+            max = Math.min(max, dst.length - off);
+            if (max == 0) return 0;
+            int n;
+            int c;
+            takeLock.lock();
+            try {
+                n = Math.min(max, count.get());
+                if (n == 0) return 0;
+                int firstPart = Math.min(n, items.length - takeIndex);
+                System.arraycopy(items, takeIndex, dst, off, firstPart);
+                System.arraycopy(items, 0, dst, off + firstPart, n - firstPart);
+                c = advanceTake(n);
+            } finally {
+                takeLock.unlock();
+            }
+            if (c == items.length) signalNotFull();
+            return n;
+        }
+
+        public int peek() {
+            takeLock.lock();
+            try {
+                if (count.get() == 0) throw new IllegalStateException("Blocking Circular Queue is empty");
+                return items[takeIndex];
+            } finally {
+                takeLock.unlock();
+            }
+        }
+
+        public int size() {
+            return count.get();
+        }
+
+        public int remainingCapacity() {
+            return items.length - count.get();
+        }
+
+        public int get(int index) {
+            fullyLock();
+            try {
+                if (index < 0 || index >= count.get()) throw new IndexOutOfBoundsException("Index: " + index);
+                return items[wrap(takeIndex + index)];
+            } finally {
+                fullyUnlock();
+            }
+        }
+
+        public String toString() {
+            fullyLock();
+            try {
+                StringBuilder sb = new StringBuilder("Blocking Circular Queue: ");
+                for (int i = 0, n = count.get(); i < n; i++) {
+                    sb.append(items[wrap(takeIndex + i)]).append(" -> ");
+                }
+                sb.append("null");
+                return sb.toString();
+            } finally {
+                fullyUnlock();
+            }
+        }
+
+        // Caller holds putLock; returns the count before the insert and passes
+        // the wake-up on to the next producer if there is still room
+        private int insert(int data) {
+            items[putIndex] = data;
+            putIndex = wrap(putIndex + 1);
+            int c = count.getAndIncrement();
+            if (c + 1 < items.length) notFull.signal();
+            return c;
+        }
+
+        // Caller holds takeLock; returns the count before the removal and
+        // passes the wake-up on to the next consumer if data is left
+        private int advanceTake(int n) {
+            takeIndex = wrap(takeIndex + n);
+            int c = count.getAndAdd(-n);
+            if (c > n) notEmpty.signal();
+            return c;
+        }
+
+        private int wrap(int index) {
+            return index >= items.length ? index - items.length : index;
+        }
+
+        // Only called on the empty -> non-empty transition
+        private void signalNotEmpty() {
+            takeLock.lock();
+            try {
+                notEmpty.signal();
+            } finally {
+                takeLock.unlock();
+            }
+        }
+
+        // Only called on the full -> not-full transition
+        private void signalNotFull() {
+            putLock.lock();
+            try {
+                notFull.signal();
+            } finally {
+                putLock.unlock();
+            }
+        }
+
+        private void fullyLock() {
+            putLock.lock();
+            takeLock.lock();
+        }
+
+        private void fullyUnlock() {
+            takeLock.unlock();
+            putLock.unlock();
+        }
+    }
+
+    static class GrowableCircularQueue implements Queue {
+        private static final int MAX_CAPACITY = 1 << 30;
+
+        private int[] queue;
+        private int mask;
+        private int front, rear, size;
+
+        public GrowableCircularQueue(int initialCapacity) {
+            queue = new int[roundUpToPowerOfTwo(initialCapacity)];
+            mask = queue.length - 1;
+        }
+
+        public void enqueue(int data) {
+            if (size == queue.length) resize(queue.length << 1);
+            queue[rear] = data;
+            rear = (rear + 1) & mask;
+            size++;
+        }
+
+        public int dequeue() {
+            if (size == 0) throw new IllegalStateException("Circular Queue is empty");
+            int data = queue[front];
+            front = (front + 1) & mask;
+            size--;
+            return data;
+        }
+
+        public int peek() {
+            if (size == 0) throw new IllegalStateException("Circular Queue is empty");
+            return queue[front];
+        }
+
+        // Copy len values from src[off..] to the rear in at most two arraycopy calls
+        public void enqueueAll(int[] src, int off, int len) {
+            if (off < 0 || len < 0 || off > src.length - len) throw new IndexOutOfBoundsException();
+            if (size + len > queue.length) resize(roundUpToPowerOfTwo(size + len));
+            int firstPart = Math.min(len, queue.length - rear);
+            System.arraycopy(src, off, queue, rear, firstPart);
+            System.arraycopy(src, off + firstPart, queue, 0, len - firstPart);
+            rear = (rear + len) & mask;
+            size += len;
+        }
+
+        // Move up to max values from the front into dst[off..], returns how many were moved
+        public int drainTo(int[] dst, int off, int max) {
+            if (off < 0 || max < 0 || off > dst.length) throw new IndexOutOfBoundsException();
+            int count = Math.min(Math.min(max, size), dst.length - off);
+            int firstPart = Math.min(count, queue.length - front);
+            System.arraycopy(queue, front, dst, off, firstPart);
+            System.arraycopy(queue, 0, dst, off + firstPart, count - firstPart);
+            front = (front + count) & mask;
+            size -= count;
+            return count;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int get(int index) {
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index);
+            return queue[(front + index) & mask];
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        // Unwrap the ring into a larger array so front lands at index 0
+        private void resize(int newCapacity) {
+            int[] resized = new int[newCapacity];
+            int firstPart = Math.min(size, queue.length - front);
+            System.arraycopy(queue, front, resized, 0, firstPart);
+            System.arraycopy(queue, 0, resized, firstPart, size - firstPart);
+            queue = resized;
+            mask = newCapacity - 1;
+            front = 0;
+            rear = size & mask;
+        }
+
+        private int roundUpToPowerOfTwo(int capacity) {
+            if (capacity > MAX_CAPACITY) throw new IllegalStateException("Circular Queue is too large");
+            return capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        }
+
+        public String toString() {
+            StringBuilder sb = new StringBuilder("Growable Circular Queue: ");
+            for (int i = 0; i < size; i++) {
+                sb.append(queue[(front + i) & mask]).append(" -> ");
+            }
+            sb.append("null");
+            return sb.toString();
+        }
+    }
+
+    // Lock-free ring buffer for exactly one producer thread and one consumer
+    // thread. head and tail live 128 bytes apart in one long[] so they never
+    // share a cache line, each next to the owning thread's cached copy of the
+    // other side's position. Positions are published with release stores and
+    // read with acquire loads, so the hand-off needs no locks or CAS.
+    static class SpscRingQueue implements Queue {
+        private static final VarHandle POSITION = MethodHandles.arrayElementVarHandle(long[].class);
+        private static final int PAD = 16;
+        private static final int HEAD = PAD;
+        private static final int CACHED_TAIL = HEAD + 1;
+        private static final int TAIL = 2 * PAD;
+        private static final int CACHED_HEAD = TAIL + 1;
+
+        private final long[] positions = new long[3 * PAD];
+        private final int[] buffer;
+        private final int mask;
+
+        public SpscRingQueue(int capacity) {
+            if (capacity < 1 || capacity > 1 << 30) throw new IllegalArgumentException("Invalid ring capacity: " + capacity);
+            buffer = new int[capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1];
+            mask = buffer.length - 1;
+        }
+
+        // Producer side
+        public void enqueue(int data) {
+            if (!offer(data)) throw new IllegalStateException("Ring buffer is full");
+        }
+
+        // Producer side, returns false instead of throwing when full
+        public boolean offer(int data) {
+            long tail = positions[TAIL];
+            if (tail - positions[CACHED_HEAD] == buffer.length) {
+                positions[CACHED_HEAD] = (long) POSITION.getAcquire(positions, HEAD);
+                if (tail - positions[CACHED_HEAD] == buffer.length) return false;
+            }
+            buffer[(int) tail & mask] = data;
+            POSITION.setRelease(positions, TAIL, tail + 1);
+            return true;
+        }
+
+        // Producer side, publishes up to len values with a single release store
+        public int enqueueAll(int[] src, int off, int len) {
+            if (off < 0 || len < 0 || off > src.length - len) throw new IndexOutOfBoundsException();
+            long tail = positions[TAIL];
+            long free = buffer.length - (tail - positions[CACHED_HEAD]);
+            if (free < len) {
+                positions[CACHED_HEAD] = (long) POSITION.getAcquire(positions, HEAD);
+                free = buffer.length - (tail - positions[CACHED_HEAD]);
+            }
+            int count = (int) Math.min(len, free);
+            int index = (int) tail & mask;
+            int firstPart = Math.min(count, buffer.length - index);
+            System.arraycopy(src, off, buffer, index, firstPart);
+            System.arraycopy(src, off + firstPart, buffer, 0, count - firstPart);
+            POSITION.setRelease(positions, TAIL, tail + count);
+            return count;
+        }
+
+        // Consumer side
+        public int dequeue() {
+            long head = positions[HEAD];
+            if (head == positions[CACHED_TAIL]) {
+                positions[CACHED_TAIL] = (long) POSITION.getAcquire(positions, TAIL);
+                if (head == positions[CACHED_TAIL]) throw new IllegalStateException("Ring buffer is empty");
+            }
+            int data = buffer[(int) head & mask];
+            POSITION.setRelease(positions, HEAD, head + 1);
+            return data;
+        }
+
+        // Consumer side
+        public int peek() {
+            long head = positions[HEAD];
+            if (head == positions[CACHED_TAIL]) {
+                positions[CACHED_TAIL] = (long) POSITION.getAcquire(positions, TAIL);
+                if (head == positions[CACHED_TAIL]) throw new IllegalStateException("Ring buffer is empty");
+            }
+            return buffer[(int) head & mask];
+        }
+
+        // Consumer side, consumes up to max values with a single release store
+        public int drainTo(int[] dst, int off, int max) {
+            if (off < 0 || max < 0 || off > dst.length) throw new IndexOutOfBoundsException();
+            max = Math.min(max, dst.length - off);
+            long head = positions[HEAD];
+            long available = positions[CACHED_TAIL] - head;
+            if (available < max) {
+                positions[CACHED_TAIL] = (long) POSITION.getAcquire(positions, TAIL);
+                available = positions[CACHED_TAIL] - head;
+            }
+            int count = (int) Math.min(max, available);
+            int index = (int) head & mask;
+            int firstPart = Math.min(count, buffer.length - index);
+            System.arraycopy(buffer, index, dst, off, firstPart);
+            System.arraycopy(buffer, 0, dst, off + firstPart, count - firstPart);
+            POSITION.setRelease(positions, HEAD, head + count);
+            return count;
+        }
+
+        // Head before tail: the tail is never behind the head, so the
+        // difference cannot go negative. If both ends move on between the
+        // two reads it can exceed the capacity, hence the clamp.
+        public int size() {
+            long head = (long) POSITION.getAcquire(positions, HEAD);
+            long tail = (long) POSITION.getAcquire(positions, TAIL);
+            return (int) Math.max(0, Math.min(tail - head, buffer.length));
+        }
+
+        // Consumer side
+        public int get(int index) {
+            long head = positions[HEAD];
+            long tail = (long) POSITION.getAcquire(positions, TAIL);
+            if (index < 0 || index >= tail - head) throw new IndexOutOfBoundsException("Index: " + index);
+            return buffer[(int) (head + index) & mask];
+        }
+
+        public String toString() {
+            long head = (long) POSITION.getAcquire(positions, HEAD);
+            long tail = (long) POSITION.getAcquire(positions, TAIL);
+            StringBuilder sb = new StringBuilder("SPSC Ring Buffer: ");
+            for (long i = head; i < tail; i++) {
+                sb.append(buffer[(int) i & mask]).append(" -> ");
+            }
+            sb.append("null");
+            return sb.toString();
+        }
+    }
+
+    // Lock-free multi-producer/multi-consumer queue (Michael-Scott). head
+    // always points at a dummy node; enqueue CASes the new node onto
+    // tail.next and then swings tail, and any thread that finds tail lagging
+    // helps advance it. poll() reports an empty queue with EMPTY instead of
+    // throwing.
+    static class LockFreeQueue implements Queue {
+        static final long EMPTY = Long.MIN_VALUE;
+        private static final VarHandle HEAD;
+        private static final VarHandle TAIL;
+        private static final VarHandle NEXT;
+
+        static {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                HEAD = lookup.findVarHandle(LockFreeQueue.class, "head", Node.class);
+                TAIL = lookup.findVarHandle(LockFreeQueue.class, "tail", Node.class);
+                NEXT = lookup.findVarHandle(Node.class, "next", Node.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private volatile Node head;
+        private volatile Node tail;
+
+        public LockFreeQueue() {
+            head = tail = new Node(0);
+        }
+
+        public void enqueue(int data) {
             Node newNode = new Node(data);
-            if (rear == null) {
-                front = rear = newNode;
-            } else {
-                newNode.prev = rear;
-                rear.next = newNode;
-                rear = newNode;
+            while (true) {
+                Node last = tail;
+                Node next = (Node) NEXT.getAcquire(last);
+                if (last != tail) continue;
+                if (next == null) {
+                    if (NEXT.compareAndSet(last, null, newNode)) {
+                        TAIL.compareAndSet(this, last, newNode);
+                        return;
+                    }
+                } else {
+                    TAIL.compareAndSet(this, last, next);
+                }
+            }
+        }
+
+        // Removes the front value, or returns EMPTY when there is none
+        public long poll() {
+            while (true) {
+                Node first = head;
+                Node last = tail;
+                Node next = (Node) NEXT.getAcquire(first);
+                if (first != head) continue;
+                if (next == null) return EMPTY;
+                if (first == last) {
+                    TAIL.compareAndSet(this, last, next);
+                } else {
+                    int data = next.data;
+                    if (HEAD.compareAndSet(this, first, next)) return data;
+                }
+            }
+        }
+
+        public int dequeue() {
+            long data = poll();
+            if (data == EMPTY) throw new IllegalStateException("Queue is empty");
+            return (int) data;
+        }
+
+        // Returns the front value, or EMPTY when there is none
+        public long peekOrEmpty() {
+            while (true) {
+                Node first = head;
+                Node next = (Node) NEXT.getAcquire(first);
+                if (first != head) continue;
+                return next == null ? EMPTY : next.data;
             }
         }
 
+        public int peek() {
+            long data = peekOrEmpty();
+            if (data == EMPTY) throw new IllegalStateException("Queue is empty");
+            return (int) data;
+        }
+
+        public boolean isEmpty() {
+            return NEXT.getAcquire(head) == null;
+        }
+
+        // Walks the whole queue; the count is only exact while no other
+        // thread is changing it
+        public int size() {
+            int count = 0;
+            for (Node current = (Node) NEXT.getAcquire(head); current != null; current = (Node) NEXT.getAcquire(current)) {
+                count++;
+            }
+            return count;
+        }
+
+        public void forEach(IntConsumer action) {
+            for (Node current = (Node) NEXT.getAcquire(head); current != null; current = (Node) NEXT.getAcquire(current)) {
+                action.accept(current.data);
+            }
+        }
+
+        public int get(int index) {
+            Node current = index < 0 ? null : (Node) NEXT.getAcquire(head);
+            for (int i = 0; current != null && i < index; i++) {
+                current = (Node) NEXT.getAcquire(current);
+            }
+            if (current == null) throw new IndexOutOfBoundsException("Index: " + index);
+            return current.data;
+        }
+
+        public String toString() {
+            StringBuilder sb = new StringBuilder("Lock-Free Queue: ");
+            Node current = (Node) NEXT.getAcquire(head);
+            while (current != null) {
+                sb.append(current.data).append(" -> ");
+                current = (Node) NEXT.getAcquire(current);
+            }
+            sb.append("null");
+            return sb.toString();
+        }
+    }
+
+    // Double-ended queue on a power-of-two int[] ring. front is the index of
+    // the first element and the rear sits size - 1 slots after it, so both
+    // ends are O(1) and only growing the ring ever allocates. The bulk
+    // operations move a block with at most two arraycopy calls.
+    static class Deque implements Queue {
+        private static final int INITIAL_CAPACITY = 16;
+        private static final int MAX_CAPACITY = 1 << 30;
+
+        private int[] elements = new int[INITIAL_CAPACITY];
+        private int mask = INITIAL_CAPACITY - 1;
+        private int front, size;
+
+        public void enqueue(int data) {
+            addRear(data);
+        }
+
+        public void addFront(int data) {
+            if (size == elements.length) resize(elements.length << 1);
+            front = (front - 1) & mask;
+            elements[front] = data;
+            size++;
+        }
+
+        public void addRear(int data) {
+            if (size == elements.length) resize(elements.length << 1);
+            elements[(front + size) & mask] = data;
+            size++;
+        }
+
         public int removeFront() {
-            if (front == null) throw new IllegalStateException("Deque is empty");
-            int data = front.data;
-            front = front.next;
-            if (front != null) front.prev = null;
-            else rear = null;
+            if (size == 0) throw new IllegalStateException("Deque is empty");
+            int data = elements[front];
+            front = (front + 1) & mask;
+            size--;
             return data;
         }
 
+        public int removeRear() {
+            if (size == 0) throw new IllegalStateException("Deque is empty");
+            size--;
+            return elements[(front + size) & mask];
+        }
+
         public int dequeue() {
             return removeFront();
         }
 
         public int peek() {
-            if (front == null) throw new IllegalStateException("Deque is empty");
-            return front.data;
+            return peekFront();
+        }
+
+        public int peekFront() {
+            if (size == 0) throw new IllegalStateException("Deque is empty");
+            return elements[front];
+        }
+
+        public int peekRear() {
+            if (size == 0) throw new IllegalStateException("Deque is empty");
+            return elements[(front + size - 1) & mask];
+        }
+
+        // Put src[off..off + len) in front of the current front, keeping its
+        // order, so src[off] becomes the new front
+        public void addAllFront(int[] src, int off, int len) {
+            if (off < 0 || len < 0 || off > src.length - len) throw new IndexOutOfBoundsException();
+            if (size + len > elements.length) resize(roundUpToPowerOfTwo(size + len));
+            int start = (front - len) & mask;
+            int firstPart = Math.min(len, elements.length - start);
+            System.arraycopy(src, off, elements, start, firstPart);
+            System.arraycopy(src, off + firstPart, elements, 0, len - firstPart);
+            front = start;
+            size += len;
+        }
+
+        // Put src[off..off + len) after the current rear, keeping its order
+        public void addAllRear(int[] src, int off, int len) {
+            if (off < 0 || len < 0 || off > src.length - len) throw new IndexOutOfBoundsException();
+            if (size + len > elements.length) resize(roundUpToPowerOfTwo(size + len));
+            int start = (front + size) & mask;
+            int firstPart = Math.min(len, elements.length - start);
+            System.arraycopy(src, off, elements, start, firstPart);
+            System.arraycopy(src, off + firstPart, elements, 0, len - firstPart);
+            size += len;
+        }
+
+        // Move up to max values from the front into dst[off..], front first;
+        // returns how many were moved
+        public int drainFront(int[] dst, int off, int max) {
+            int count = drainCount(dst, off, max);
+            copyOut(front, dst, off, count);
+            front = (front + count) & mask;
+            size -= count;
+            return count;
+        }
+
+        // Move up to max values from the rear into dst[off..], in deque order,
+        // so dst ends with the old rear; returns how many were moved
+        public int drainRear(int[] dst, int off, int max) {
+            int count = drainCount(dst, off, max);
+            copyOut((front + size - count) & mask, dst, off, count);
+            size -= count;
+            return count;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int capacity() {
+            return elements.length;
+        }
+
+        public int get(int index) {
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index);
+            return elements[(front + index) & mask];
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        private int drainCount(int[] dst, int off, int max) {
+            if (off < 0 || max < 0 || off > dst.length) throw new IndexOutOfBoundsException();
+            return Math.min(Math.min(max, size), dst.length - off);
+        }
+
+        private void copyOut(int start, int[] dst, int off, int count) {
+            int firstPart = Math.min(count, elements.length - start);
+            System.arraycopy(elements, start, dst, off, firstPart);
+            System.arraycopy(elements, 0, dst, off + firstPart, count - firstPart);
+        }
+
+        // Unwrap the ring into a larger array so front lands at index 0
+        private void resize(int newCapacity) {
+            if (elements.length == MAX_CAPACITY) throw new IllegalStateException("Deque is too large");
+            int[] resized = new int[newCapacity];
+            copyOut(front, resized, 0, size);
+            elements = resized;
+            mask = newCapacity - 1;
+            front = 0;
+        }
+
+        private int roundUpToPowerOfTwo(int capacity) {
+            if (capacity > MAX_CAPACITY || capacity < 0) throw new IllegalStateException("Deque is too large");
+            return capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
         }
 
         public String toString() {
             StringBuilder sb = new StringBuilder("Deque: ");
-            Node current = front;
-            while (current != null) {
-                sb.append(current.data).append(" -> ");
-                current = current.next;
+            for (int i = 0; i < size; i++) {
+                sb.append(elements[(front + i) & mask]).append(" -> ");
             }
             sb.append("null");
             return sb.toString();
         }
     }
 
-    class QueueUsingStacks implements Queue {
-        private Stack<Integer> stack1 = new Stack<>();
-        private Stack<Integer> stack2 = new Stack<>();
+    // Chase-Lev work-stealing deque of ints. The owner thread pushes and
+    // pops at the bottom; any other thread may steal from the top, and only
+    // the race for the last element (or between thieves) needs a CAS on top.
+    // As a Queue it pushes at the bottom and takes from the top, so it
+    // behaves FIFO when used from a single thread.
+    static class WorkStealingDeque implements Queue {
+        static final long EMPTY = Long.MIN_VALUE;
+        private static final VarHandle TOP;
+        private static final VarHandle BOTTOM;
+        private static final VarHandle ARRAY;
+
+        static {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                TOP = lookup.findVarHandle(WorkStealingDeque.class, "top", long.class);
+                BOTTOM = lookup.findVarHandle(WorkStealingDeque.class, "bottom", long.class);
+                ARRAY = lookup.findVarHandle(WorkStealingDeque.class, "array", int[].class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private volatile long top;
+        private volatile long bottom;
+        private volatile int[] array;
+
+        public WorkStealingDeque() {
+            this(64);
+        }
+
+        public WorkStealingDeque(int initialCapacity) {
+            array = new int[initialCapacity <= 1 ? 1 : Integer.highestOneBit(initialCapacity - 1) << 1];
+        }
+
+        // Owner only
+        public void push(int data) {
+            long b = (long) BOTTOM.getOpaque(this);
+            long t = (long) TOP.getAcquire(this);
+            int[] a = (int[]) ARRAY.getOpaque(this);
+            if (b - t >= a.length) {
+                a = grow(a, t, b);
+            }
+            a[(int) b & (a.length - 1)] = data;
+            BOTTOM.setRelease(this, b + 1);
+        }
+
+        // Owner only, takes the most recently pushed value or returns EMPTY
+        public long pop() {
+            long b = (long) BOTTOM.getOpaque(this) - 1;
+            int[] a = (int[]) ARRAY.getOpaque(this);
+            bottom = b;
+            long t = top;
+            if (t > b) {
+                bottom = b + 1;
+                return EMPTY;
+            }
+            int data = a[(int) b & (a.length - 1)];
+            if (t == b) {
+                boolean won = TOP.compareAndSet(this, t, t + 1);
+                bottom = b + 1;
+                if (!won) return EMPTY;
+            }
+            return data;
+        }
+
+        // Any thread, takes the oldest value or returns EMPTY when the deque
+        // is empty or another thread won the race for that value
+        public long steal() {
+            long t = top;
+            long b = bottom;
+            if (t >= b) return EMPTY;
+            int[] a = (int[]) ARRAY.getAcquire(this);
+            int data = a[(int) t & (a.length - 1)];
+            if (!TOP.compareAndSet(this, t, t + 1)) return EMPTY;
+            return data;
+        }
 
         public void enqueue(int data) {
-            stack1.push(data);
+            push(data);
         }
 
         public int dequeue() {
-            if (stack2.isEmpty()) {
-                while (!stack1.isEmpty()) {
-                    stack2.push(stack1.pop());
-                }
+            while (true) {
+                long t = top;
+                if (t >= bottom) throw new IllegalStateException("Deque is empty");
+                long data = steal();
+                if (data != EMPTY) return (int) data;
             }
+        }
+
+        public int peek() {
+            long t = top;
+            if (t >= bottom) throw new IllegalStateException("Deque is empty");
+            int[] a = array;
+            return a[(int) t & (a.length - 1)];
+        }
+
+        public int size() {
+            return (int) Math.max(0, bottom - top);
+        }
+
+        public int get(int index) {
+            long t = top;
+            if (index < 0 || index >= bottom - t) throw new IndexOutOfBoundsException("Index: " + index);
+            int[] a = array;
+            return a[(int) (t + index) & (a.length - 1)];
+        }
+
+        // Copy the live range into an array twice as large and publish it
+        private int[] grow(int[] a, long t, long b) {
+            int[] grown = new int[a.length << 1];
+            for (long i = t; i < b; i++) {
+                grown[(int) i & (grown.length - 1)] = a[(int) i & (a.length - 1)];
+            }
+            ARRAY.setRelease(this, grown);
+            return grown;
+        }
+
+        public String toString() {
+            long t = top;
+            long b = bottom;
+            int[] a = array;
+            StringBuilder sb = new StringBuilder("Work-Stealing Deque: ");
+            for (long i = t; i < b; i++) {
+                sb.append(a[(int) i & (a.length - 1)]).append(" -> ");
+            }
+            sb.append("null");
+            return sb.toString();
+        }
+    }
+
+    static class QueueUsingStacks implements Queue {
+        private IntStack stack1 = new IntStack();
+        private IntStack stack2 = new IntStack();
+
+        public void enqueue(int data) {
+            stack1.push(data);
+        }
+
+        public int dequeue() {
+            if (stack2.isEmpty()) stack2.transferFrom(stack1);
             if (stack2.isEmpty()) throw new IllegalStateException("Queue is empty");
             return stack2.pop();
         }
 
         public int peek() {
-            if (stack2.isEmpty()) {
-                while (!stack1.isEmpty()) {
-                    stack2.push(stack1.pop());
-                }
-            }
+            if (stack2.isEmpty()) stack2.transferFrom(stack1);
             if (stack2.isEmpty()) throw new IllegalStateException("Queue is empty");
             return stack2.peek();
         }
 
+        public int size() {
+            return stack1.size() + stack2.size();
+        }
+
+        public int get(int index) {
+            if (index < 0 || index >= size()) throw new IndexOutOfBoundsException("Index: " + index);
+            if (index < stack2.size()) return stack2.get(stack2.size() - 1 - index);
+            return stack1.get(index - stack2.size());
+        }
+
+        // Front of the queue is the top of stack2, rear is the top of stack1
         public String toString() {
-            Stack<Integer> temp = new Stack<>();
-            temp.addAll(stack2);
-            for (int i = stack1.size() - 1; i >= 0; i--) {
-                temp.push(stack1.get(i));
+            StringBuilder sb = new StringBuilder("Queue Using Stacks: [");
+            for (int i = stack2.size() - 1; i >= 0; i--) {
+                sb.append(stack2.get(i));
+                if (i > 0 || !stack1.isEmpty()) sb.append(", ");
+            }
+            for (int i = 0; i < stack1.size(); i++) {
+                sb.append(stack1.get(i));
+                if (i < stack1.size() - 1) sb.append(", ");
+            }
+            return sb.append("]").toString();
+        }
+    }
+
+    // Growable int[] stack with no boxing and no synchronization
+    static class IntStack {
+        private int[] elements;
+        private int size;
+
+        IntStack() {
+            this(16);
+        }
+
+        IntStack(int initialCapacity) {
+            elements = new int[Math.max(1, initialCapacity)];
+        }
+
+        void push(int data) {
+            if (size == elements.length) elements = Arrays.copyOf(elements, size << 1);
+            elements[size++] = data;
+        }
+
+        int pop() {
+            if (size == 0) throw new IllegalStateException("Stack is empty");
+            return elements[--size];
+        }
+
+        int peek() {
+            if (size == 0) throw new IllegalStateException("Stack is empty");
+            return elements[size - 1];
+        }
+
+        // Element by index from the bottom of the stack
+        int get(int index) {
+            return elements[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        // Move every element of source on top of this stack in reversed
+        // order (one arraycopy plus an in-place reverse) and empty source
+        void transferFrom(IntStack source) {
+            int count = source.size;
+            if (count == 0) return;
+            if (size + count > elements.length) {
+                elements = Arrays.copyOf(elements, Math.max(size + count, elements.length << 1));
+            }
+            System.arraycopy(source.elements, 0, elements, size, count);
+            for (int i = size, j = size + count - 1; i < j; i++, j--) {
+                int swap = elements[i];
+                elements[i] = elements[j];
+                elements[j] = swap;
             }
-            return "Queue Using Stacks: " + temp.toString();
+            size += count;
+            source.size = 0;
         }
     }
 
-    class Node {
+    static class Node {
         int data;
-        Node next, prev;
+        Node next;
 
         Node(int data) {
             this.data = data;
-            this.next = this.prev = null;
+            this.next = null;
         }
     }
 }
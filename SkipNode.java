@@ -0,0 +1,17 @@
+package dsa;
+
+class SkipNode {
+    int data;
+    final SkipNode[] forward;
+    final int[] width;
+
+    SkipNode(int data, int level) {
+        this.data = data;
+        this.forward = new SkipNode[level];
+        this.width = new int[level];
+    }
+
+    SkipNode next() {
+        return forward[0];
+    }
+}
@@ -0,0 +1,67 @@
+package dsa;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+// List with the appendNode/readNode/updateNode/deleteNode interface of the
+// other lists whose current version is a PersistentIntList behind an
+// AtomicReference. Writers build the next version and publish it with a
+// CAS, retrying if another writer got there first. snapshot() is a single
+// volatile read: the version it returns never changes, so readers can walk
+// it for as long as they like without locks and without seeing a
+// half-applied change.
+class SnapshotList {
+    private final AtomicReference<PersistentIntList> current = new AtomicReference<>(PersistentIntList.EMPTY);
+
+    // Consistent, immutable view of the list as of now
+    PersistentIntList snapshot() {
+        return current.get();
+    }
+
+    protected void appendNode(int data) {
+        PersistentIntList version;
+        do {
+            version = current.get();
+        } while (!current.compareAndSet(version, version.append(data)));
+    }
+
+    // Insert value so that it ends up at the given position (1..length() + 1)
+    protected void insertNode(int position, int data) {
+        PersistentIntList version;
+        do {
+            version = current.get();
+            if (position < 1 || position > version.size() + 1) return;
+        } while (!current.compareAndSet(version, version.insert(position - 1, data)));
+    }
+
+    protected int length() {
+        return current.get().size();
+    }
+
+    // Value at a position; out of range throws, see LinkedList.readNode
+    protected int readNode(int position) {
+        PersistentIntList version = current.get();
+        if (position < 1 || position > version.size()) throw new IndexOutOfBoundsException("Position: " + position);
+        return version.get(position - 1);
+    }
+
+    protected void updateNode(int position, int newData) {
+        PersistentIntList version;
+        do {
+            version = current.get();
+            if (position < 1 || position > version.size()) return;
+        } while (!current.compareAndSet(version, version.with(position - 1, newData)));
+    }
+
+    protected void deleteNode(int position) {
+        PersistentIntList version;
+        do {
+            version = current.get();
+            if (position < 1 || position > version.size()) return;
+        } while (!current.compareAndSet(version, version.remove(position - 1)));
+    }
+
+    protected void forEach(IntConsumer action) {
+        current.get().forEachValue(action);
+    }
+}
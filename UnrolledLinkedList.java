@@ -0,0 +1,203 @@
+package dsa;
+
+import java.util.function.IntConsumer;
+
+// Unrolled linked list: each link holds a chunk of up to CHUNK_CAPACITY values
+// in an int[], so walking to a position skips a whole chunk per pointer and
+// reading a chunk is sequential memory. Chunks split in two when an insert
+// hits a full chunk, and a chunk that drops below half full after a delete
+// takes values from (or merges into) its neighbour.
+// The GUIs stay on LinkedList; this engine is for ListBenchmark and can be
+// replayed against with OpScript.
+class UnrolledLinkedList {
+    static final int CHUNK_CAPACITY = 64;
+    private static final int MIN_FILL = CHUNK_CAPACITY / 2;
+
+    private Chunk head;
+    private Chunk tail;
+    private int size;
+    // Offset inside the chunk returned by the last locate()
+    private int foundOffset;
+
+    // Append value at the end; the tail chunk is filled completely first
+    protected void appendNode(int data) {
+        if (tail == null || tail.count == CHUNK_CAPACITY) {
+            linkAfter(tail, new Chunk());
+        }
+        tail.values[tail.count++] = data;
+        size++;
+    }
+
+    // Insert value so that it ends up at the given position (1..length() + 1)
+    protected void insertNode(int position, int data) {
+        if (position < 1 || position > size + 1) return;
+        if (position == size + 1) {
+            appendNode(data);
+            return;
+        }
+
+        Chunk chunk = locate(position);
+        int offset = foundOffset;
+        if (chunk.count == CHUNK_CAPACITY) {
+            Chunk upper = split(chunk);
+            if (offset >= chunk.count) {
+                offset -= chunk.count;
+                chunk = upper;
+            }
+        }
+        System.arraycopy(chunk.values, offset, chunk.values, offset + 1, chunk.count - offset);
+        chunk.values[offset] = data;
+        chunk.count++;
+        size++;
+    }
+
+    // Value at a position; out of range throws, see LinkedList.readNode
+    protected int readNode(int position) {
+        if (position < 1 || position > size) throw new IndexOutOfBoundsException("Position: " + position);
+        Chunk chunk = locate(position);
+        return chunk.values[foundOffset];
+    }
+
+    // Update value by position
+    protected void updateNode(int position, int newData) {
+        if (position < 1 || position > size) return;
+        Chunk chunk = locate(position);
+        chunk.values[foundOffset] = newData;
+    }
+
+    // Delete value by position
+    protected void deleteNode(int position) {
+        if (position < 1 || position > size) return;
+
+        Chunk chunk = locate(position);
+        int offset = foundOffset;
+        System.arraycopy(chunk.values, offset + 1, chunk.values, offset, chunk.count - offset - 1);
+        chunk.count--;
+        size--;
+        // An empty tail chunk stays as a spare, so appending and deleting
+        // around a chunk boundary does not allocate every time
+        if (chunk.count == 0) {
+            if (chunk != tail) unlink(chunk);
+        } else if (chunk.count < MIN_FILL) {
+            rebalance(chunk);
+        }
+    }
+
+    protected int length() {
+        return size;
+    }
+
+    // Every value in list order, one chunk at a time
+    protected void forEach(IntConsumer action) {
+        for (Chunk chunk = head; chunk != null; chunk = chunk.next) {
+            int[] values = chunk.values;
+            for (int i = 0, n = chunk.count; i < n; i++) {
+                action.accept(values[i]);
+            }
+        }
+    }
+
+    // Heap bytes held by the chunk arrays, including unused capacity
+    protected long footprintBytes() {
+        long chunks = 0;
+        for (Chunk chunk = head; chunk != null; chunk = chunk.next) {
+            chunks++;
+        }
+        return chunks * Integer.BYTES * CHUNK_CAPACITY;
+    }
+
+    // Chunk holding the position, walking whole chunks from the nearer end;
+    // the offset inside it is left in foundOffset
+    private Chunk locate(int position) {
+        Chunk chunk;
+        if (position <= size / 2 + 1) {
+            chunk = head;
+            int before = 0;
+            while (before + chunk.count < position) {
+                before += chunk.count;
+                chunk = chunk.next;
+            }
+            foundOffset = position - before - 1;
+        } else {
+            chunk = tail;
+            int after = size - chunk.count;
+            while (after >= position) {
+                chunk = chunk.prev;
+                after -= chunk.count;
+            }
+            foundOffset = position - after - 1;
+        }
+        return chunk;
+    }
+
+    // Move the upper half of a full chunk into a new chunk right after it
+    private Chunk split(Chunk chunk) {
+        Chunk upper = new Chunk();
+        int keep = chunk.count / 2;
+        upper.count = chunk.count - keep;
+        System.arraycopy(chunk.values, keep, upper.values, 0, upper.count);
+        chunk.count = keep;
+        linkAfter(chunk, upper);
+        return upper;
+    }
+
+    // Merge an underfull chunk with a neighbour when both fit in one chunk,
+    // otherwise even out the two
+    private void rebalance(Chunk chunk) {
+        Chunk left = chunk.prev != null ? chunk.prev : chunk;
+        Chunk right = chunk.prev != null ? chunk : chunk.next;
+        if (right == null) return;
+
+        if (left.count + right.count <= CHUNK_CAPACITY) {
+            System.arraycopy(right.values, 0, left.values, left.count, right.count);
+            left.count += right.count;
+            unlink(right);
+        } else if (left.count < right.count) {
+            int move = (right.count - left.count) / 2;
+            System.arraycopy(right.values, 0, left.values, left.count, move);
+            System.arraycopy(right.values, move, right.values, 0, right.count - move);
+            left.count += move;
+            right.count -= move;
+        } else {
+            int move = (left.count - right.count) / 2;
+            System.arraycopy(right.values, 0, right.values, move, right.count);
+            System.arraycopy(left.values, left.count - move, right.values, 0, move);
+            left.count -= move;
+            right.count += move;
+        }
+    }
+
+    private void linkAfter(Chunk before, Chunk chunk) {
+        chunk.prev = before;
+        if (before == null) {
+            chunk.next = head;
+            if (head != null) head.prev = chunk;
+            head = chunk;
+        } else {
+            chunk.next = before.next;
+            if (before.next != null) before.next.prev = chunk;
+            before.next = chunk;
+        }
+        if (chunk.next == null) tail = chunk;
+    }
+
+    private void unlink(Chunk chunk) {
+        if (chunk.prev != null) {
+            chunk.prev.next = chunk.next;
+        } else {
+            head = chunk.next;
+        }
+        if (chunk.next != null) {
+            chunk.next.prev = chunk.prev;
+        } else {
+            tail = chunk.prev;
+        }
+    }
+
+    private static final class Chunk {
+        final int[] values = new int[CHUNK_CAPACITY];
+        int count;
+        Chunk next;
+        Chunk prev;
+    }
+}
@@ -0,0 +1,194 @@
+package dsa;
+
+import java.util.Arrays;
+
+// Open-addressing multimap from int value to the list nodes holding it,
+// used as the optional secondary index of DoublyLinkedList. Keys live in an
+// int[] so lookups never box. A slot holds the single Node for a value, or
+// a Node[] bucket once the value is duplicated; counts[slot] says which, and
+// 0 marks an empty slot. Removal uses backward-shift deletion, so there are
+// no tombstones and probe runs stay short under churn.
+//
+// Indexed nodes are IndexedNodes that remember their place in the bucket,
+// so add, any, count and remove(value, node) are all O(1) expected however
+// many copies of a value there are: removing a node moves the bucket's last
+// entry into its place.
+final class ValueIndex {
+    private static final int MIN_CAPACITY = 16;
+    // Node references are 4 bytes with compressed oops, arrays have a 16 byte header
+    private static final int REFERENCE_BYTES = 4;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    // An IndexedNode's extra int pads a 24 byte Node out to 32
+    private static final int INDEXED_NODE_EXTRA_BYTES = 8;
+
+    // Node with its index in the bucket of its value (0 while it is alone)
+    static final class IndexedNode extends Node {
+        int bucketIndex;
+
+        IndexedNode(int data, Node next, Node prev) {
+            super(data, next, prev);
+        }
+    }
+
+    private int[] keys;
+    private Object[] slots;
+    private int[] counts;
+    private int mask;
+    private int shift;
+    private int distinct;
+    private int entries;
+
+    ValueIndex() {
+        allocate(MIN_CAPACITY);
+    }
+
+    int count(int value) {
+        int slot = find(value);
+        return slot < 0 ? 0 : counts[slot];
+    }
+
+    // One node holding the value, or null
+    Node any(int value) {
+        int slot = find(value);
+        if (slot < 0) return null;
+        int count = counts[slot];
+        return count == 1 ? (Node) slots[slot] : ((Node[]) slots[slot])[count - 1];
+    }
+
+    void add(int value, IndexedNode node) {
+        if ((distinct + 1) * 2 > keys.length) allocate(keys.length * 2);
+        entries++;
+        int slot = hash(value);
+        while (counts[slot] != 0) {
+            if (keys[slot] == value) {
+                addToBucket(slot, node);
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = value;
+        slots[slot] = node;
+        counts[slot] = 1;
+        node.bucketIndex = 0;
+        distinct++;
+    }
+
+    // Remove this exact node, which must have been added under value
+    boolean remove(int value, IndexedNode node) {
+        int slot = find(value);
+        if (slot < 0) return false;
+        int count = counts[slot];
+        int i = node.bucketIndex;
+        if (count == 1) {
+            if (slots[slot] != node) return false;
+        } else if (i >= count || ((Node[]) slots[slot])[i] != node) {
+            return false;
+        }
+        removeAt(slot, i);
+        return true;
+    }
+
+    // Approximate heap held by the index, counting what IndexedNode adds to
+    // each node but not the nodes themselves
+    long footprintBytes() {
+        long bytes = 3L * ARRAY_HEADER_BYTES + (long) keys.length * (Integer.BYTES * 2 + REFERENCE_BYTES)
+                + (long) entries * INDEXED_NODE_EXTRA_BYTES;
+        for (int i = 0; i < slots.length; i++) {
+            if (counts[i] > 1) bytes += ARRAY_HEADER_BYTES + (long) ((Node[]) slots[i]).length * REFERENCE_BYTES;
+        }
+        return bytes;
+    }
+
+    private void addToBucket(int slot, IndexedNode node) {
+        int count = counts[slot];
+        Node[] bucket;
+        if (count == 1) {
+            bucket = new Node[4];
+            bucket[0] = (Node) slots[slot];
+            slots[slot] = bucket;
+        } else {
+            bucket = (Node[]) slots[slot];
+            if (count == bucket.length) {
+                bucket = Arrays.copyOf(bucket, count * 2);
+                slots[slot] = bucket;
+            }
+        }
+        bucket[count] = node;
+        node.bucketIndex = count;
+        counts[slot] = count + 1;
+    }
+
+    // Drop entry i of the slot; the last entry moves into its place
+    private void removeAt(int slot, int i) {
+        entries--;
+        int count = counts[slot];
+        if (count == 1) {
+            deleteSlot(slot);
+            return;
+        }
+        Node[] bucket = (Node[]) slots[slot];
+        IndexedNode moved = (IndexedNode) bucket[count - 1];
+        bucket[i] = moved;
+        moved.bucketIndex = i;
+        bucket[count - 1] = null;
+        count--;
+        counts[slot] = count;
+        if (count == 1) slots[slot] = bucket[0];
+    }
+
+    // Backward-shift deletion: pull later entries of the probe run into the
+    // hole unless that would move them before their home slot
+    private void deleteSlot(int hole) {
+        distinct--;
+        int slot = hole;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (counts[slot] == 0) break;
+            int home = hash(keys[slot]);
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                keys[hole] = keys[slot];
+                slots[hole] = slots[slot];
+                counts[hole] = counts[slot];
+                hole = slot;
+            }
+        }
+        slots[hole] = null;
+        counts[hole] = 0;
+    }
+
+    private int find(int value) {
+        int slot = hash(value);
+        while (counts[slot] != 0) {
+            if (keys[slot] == value) return slot;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Fibonacci hashing: the multiply spreads sequential values over the table
+    private int hash(int value) {
+        return (value * 0x9E3779B9) >>> shift;
+    }
+
+    private void allocate(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldSlots = slots;
+        int[] oldCounts = counts;
+        keys = new int[capacity];
+        slots = new Object[capacity];
+        counts = new int[capacity];
+        mask = capacity - 1;
+        shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        if (oldKeys == null) return;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] == 0) continue;
+            int slot = hash(oldKeys[i]);
+            while (counts[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            slots[slot] = oldSlots[i];
+            counts[slot] = oldCounts[i];
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package dsa;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Small fork/join style scheduler for int payloads. Each worker owns a
+// QueueGUI.WorkStealingDeque: tasks forked from inside a job go onto the
+// worker's own deque, external submissions go through a shared lock-free
+// inbox, and idle workers steal from the top of other workers' deques.
+// Payloads stay primitive, so running a job never allocates.
+public class WorkStealingScheduler implements AutoCloseable {
+    private static final long IDLE_PARK_NANOS = 50_000;
+    private static final long EMPTY = QueueGUI.WorkStealingDeque.EMPTY;
+
+    // Job body; call worker.fork(...) to split work into more payloads
+    interface IntTask {
+        void run(int payload, Worker worker);
+    }
+
+    private final IntTask task;
+    private final Worker[] workers;
+    private final QueueGUI.LockFreeQueue inbox = new QueueGUI.LockFreeQueue();
+    private final AtomicLong pending = new AtomicLong();
+    private volatile boolean shutdown;
+
+    public WorkStealingScheduler(int parallelism, IntTask task) {
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be at least 1");
+        this.task = task;
+        workers = new Worker[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = new Worker(i);
+        }
+        for (Worker worker : workers) {
+            worker.start();
+        }
+    }
+
+    // Submit a payload from outside the pool
+    public void submit(int payload) {
+        if (shutdown) throw new IllegalStateException("Scheduler is shut down");
+        pending.incrementAndGet();
+        inbox.enqueue(payload);
+    }
+
+    // Block until every submitted and forked payload has run
+    public void awaitQuiescence() {
+        while (pending.get() != 0) {
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+
+    public int parallelism() {
+        return workers.length;
+    }
+
+    @Override
+    public void close() {
+        shutdown = true;
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker);
+        }
+        for (Worker worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    final class Worker extends Thread {
+        private final QueueGUI.WorkStealingDeque deque = new QueueGUI.WorkStealingDeque();
+        private final int index;
+        private int seed;
+
+        Worker(int index) {
+            super("work-stealing-worker-" + index);
+            this.index = index;
+            this.seed = index * 0x9E3779B9 + 1;
+            setDaemon(true);
+        }
+
+        // Push a payload onto this worker's own deque; only call from inside a job
+        public void fork(int payload) {
+            pending.incrementAndGet();
+            deque.push(payload);
+        }
+
+        public int index() {
+            return index;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                long payload = deque.pop();
+                if (payload == EMPTY) {
+                    payload = inbox.poll();
+                    if (payload == QueueGUI.LockFreeQueue.EMPTY) payload = stealFromOthers();
+                }
+                if (payload == EMPTY) {
+                    if (shutdown) return;
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+                try {
+                    task.run((int) payload, this);
+                } catch (RuntimeException e) {
+                    // Report through the thread's handler (stderr by default)
+                    // and keep the worker, so its deque is still drained
+                    getUncaughtExceptionHandler().uncaughtException(this, e);
+                } finally {
+                    pending.decrementAndGet();
+                }
+            }
+        }
+
+        // Visit every other worker once, starting from a random victim
+        private long stealFromOthers() {
+            int count = workers.length;
+            seed ^= seed << 13;
+            seed ^= seed >>> 17;
+            seed ^= seed << 5;
+            int start = (seed & Integer.MAX_VALUE) % count;
+            for (int i = 0; i < count; i++) {
+                Worker victim = workers[(start + i) % count];
+                if (victim == this) continue;
+                long payload = victim.deque.steal();
+                if (payload != EMPTY) return payload;
+            }
+            return EMPTY;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package dsa;
+
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// QueueGUI.BlockingCircularQueue against ArrayBlockingQueue<Integer> with
+// blocking producers and consumers. Run with the GC profiler (the default in
+// BenchmarkRunner) to compare allocation per operation; the boxed queue pays
+// for an Integer on every put. The producer rate is the element rate, since
+// a bounded queue keeps both sides in step. Change the split with -tg, e.g.
+// `-tg 8,2` for eight producers and two consumers.
+//
+// Both sides use the timed offer/poll, so threads park when they have to
+// wait but never hang when JMH stops the other side at the end of an
+// iteration.
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlockingQueueBenchmark {
+    private static final int BATCH = 64;
+    private static final long TIMEOUT_MILLIS = 10;
+
+    @Param({"16", "1024"})
+    public int capacity;
+
+    private QueueGUI.BlockingCircularQueue circular;
+    private ArrayBlockingQueue<Integer> boxed;
+
+    @Setup
+    public void setUp() {
+        circular = new QueueGUI.BlockingCircularQueue(capacity);
+        boxed = new ArrayBlockingQueue<>(capacity);
+    }
+
+    // Per-thread value counter and drain buffers
+    @State(Scope.Thread)
+    public static class Local {
+        int next = 1 << 16;
+        final int[] values = new int[BATCH];
+        final ArrayList<Integer> drained = new ArrayList<>(BATCH);
+    }
+
+    @Benchmark
+    @Group("circular")
+    @GroupThreads(1)
+    public boolean circularPut(Local local) throws InterruptedException {
+        return circular.offer(local.next++, TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    @Group("circular")
+    @GroupThreads(1)
+    public long circularTake() throws InterruptedException {
+        return circular.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    @Group("boxed")
+    @GroupThreads(1)
+    public boolean boxedPut(Local local) throws InterruptedException {
+        return boxed.offer(local.next++, TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    @Group("boxed")
+    @GroupThreads(1)
+    public Integer boxedTake() throws InterruptedException {
+        return boxed.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    // Consumer waits for one element, then takes whatever else is ready
+    @Benchmark
+    @Group("circularDrain")
+    @GroupThreads(1)
+    public boolean circularDrainPut(Local local) throws InterruptedException {
+        return circular.offer(local.next++, TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    @Group("circularDrain")
+    @GroupThreads(1)
+    public int circularDrainTo(Local local) throws InterruptedException {
+        long first = circular.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == QueueGUI.BlockingCircularQueue.EMPTY) return 0;
+        local.values[0] = (int) first;
+        return 1 + circular.drainTo(local.values, 1, BATCH - 1);
+    }
+
+    @Benchmark
+    @Group("boxedDrain")
+    @GroupThreads(1)
+    public boolean boxedDrainPut(Local local) throws InterruptedException {
+        return boxed.offer(local.next++, TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    @Group("boxedDrain")
+    @GroupThreads(1)
+    public int boxedDrainTo(Local local) throws InterruptedException {
+        Integer first = boxed.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) return 0;
+        local.drained.clear();
+        return 1 + boxed.drainTo(local.drained, BATCH - 1);
+    }
+}
@@ -0,0 +1,106 @@
+package dsa;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Producer/consumer throughput of the queues that are safe to share between
+// threads. The thread split comes from the group annotations and can be
+// changed per run with -tg, e.g. `-tg 8` for eight threads on the lock-free
+// queue, or `-tg 1,3` for one owner and three thieves on the work-stealing
+// deque. The SPSC ring must stay at -tg 1,1.
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentQueueBenchmark {
+    private static final int BATCH = 64;
+
+    @Param({"1024", "65536"})
+    public int capacity;
+
+    private QueueGUI.SpscRingQueue ring;
+    private QueueGUI.LockFreeQueue lockFree;
+    private QueueGUI.WorkStealingDeque deque;
+
+    @Setup
+    public void setUp() {
+        ring = new QueueGUI.SpscRingQueue(capacity);
+        lockFree = new QueueGUI.LockFreeQueue();
+        deque = new QueueGUI.WorkStealingDeque(capacity);
+    }
+
+    // Per-thread buffer for the batched ring operations
+    @State(Scope.Thread)
+    public static class Batch {
+        final int[] values = new int[BATCH];
+    }
+
+    @Benchmark
+    @Group("spsc")
+    @GroupThreads(1)
+    public boolean spscOffer() {
+        return ring.offer(1);
+    }
+
+    @Benchmark
+    @Group("spsc")
+    @GroupThreads(1)
+    public int spscPoll(Batch batch) {
+        return ring.drainTo(batch.values, 0, 1);
+    }
+
+    @Benchmark
+    @Group("spscBatch")
+    @GroupThreads(1)
+    public int spscEnqueueAll(Batch batch) {
+        return ring.enqueueAll(batch.values, 0, BATCH);
+    }
+
+    @Benchmark
+    @Group("spscBatch")
+    @GroupThreads(1)
+    public int spscDrainTo(Batch batch) {
+        return ring.drainTo(batch.values, 0, BATCH);
+    }
+
+    // Every thread enqueues and then polls, so the queue never holds more
+    // than one element per thread; -tg 8 runs eight of them
+    @Benchmark
+    @Group("lockFree")
+    @GroupThreads(2)
+    public long lockFreeEnqueuePoll() {
+        lockFree.enqueue(1);
+        return lockFree.poll();
+    }
+
+    // Owner pushes and pops at the bottom, thieves steal from the top
+    @Benchmark
+    @Group("workStealing")
+    @GroupThreads(1)
+    public long ownerPushPop() {
+        deque.push(1);
+        return deque.pop();
+    }
+
+    @Benchmark
+    @Group("workStealing")
+    @GroupThreads(1)
+    public long thiefSteal() {
+        return deque.steal();
+    }
+}
@@ -0,0 +1,89 @@
+package dsa;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Both ends of QueueGUI.Deque against ArrayDeque<Integer>, on a deque that
+// holds `size` elements between invocations. Run with the GC profiler to
+// see the per-operation allocation: the int ring allocates nothing once it
+// has grown, the boxed deque allocates an Integer for every add outside the
+// Integer cache.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DequeBenchmark {
+    private static final int BATCH = 256;
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private QueueGUI.Deque deque;
+    private ArrayDeque<Integer> boxed;
+    private final int[] batch = new int[BATCH];
+    private int next = 1 << 16;
+
+    @Setup
+    public void setUp() {
+        deque = new QueueGUI.Deque();
+        boxed = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            deque.addRear(i);
+            boxed.addLast(i);
+        }
+    }
+
+    @Benchmark
+    public int addFrontRemoveRear() {
+        deque.addFront(next++);
+        return deque.removeRear();
+    }
+
+    @Benchmark
+    public int boxedAddFirstRemoveLast() {
+        boxed.addFirst(next++);
+        return boxed.removeLast();
+    }
+
+    @Benchmark
+    public int addRearRemoveFront() {
+        deque.addRear(next++);
+        return deque.removeFront();
+    }
+
+    @Benchmark
+    public int boxedAddLastRemoveFirst() {
+        boxed.addLast(next++);
+        return boxed.removeFirst();
+    }
+
+    // BATCH values moved from the rear to the front with the bulk operations
+    @Benchmark
+    public int rotateBatch() {
+        int count = deque.drainRear(batch, 0, BATCH);
+        deque.addAllFront(batch, 0, count);
+        return count;
+    }
+
+    @Benchmark
+    public int boxedRotateBatch() {
+        for (int i = 0; i < BATCH; i++) {
+            boxed.addFirst(boxed.removeLast());
+        }
+        return BATCH;
+    }
+}
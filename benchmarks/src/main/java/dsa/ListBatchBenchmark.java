@@ -0,0 +1,87 @@
+package dsa;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Batch list operations against the same work done one node at a time, on a
+// run of `count` positions starting in the middle of the list. Every
+// invocation puts the run back, so the list keeps its size and contents.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListBatchBenchmark {
+    @Param({"100000"})
+    public int size;
+
+    @Param({"1000"})
+    public int count;
+
+    private DoublyLinkedList list;
+    private int[] run;
+    private int from;
+
+    @Setup
+    public void setUp() {
+        list = new DoublyLinkedList();
+        for (int i = 0; i < size; i++) {
+            list.appendNode(i);
+        }
+        from = size / 2;
+        run = new int[count];
+        list.readRange(from, from + count - 1, run);
+    }
+
+    @Benchmark
+    public void deleteNodeLoop() {
+        for (int i = 0; i < count; i++) {
+            list.deleteNode(from);
+        }
+        list.insertAll(from, run);
+    }
+
+    @Benchmark
+    public void deleteRange() {
+        list.deleteRange(from, from + count - 1);
+        list.insertAll(from, run);
+    }
+
+    @Benchmark
+    public void updateNodeLoop() {
+        for (int i = 0; i < count; i++) {
+            list.updateNode(from + i, run[i]);
+        }
+    }
+
+    @Benchmark
+    public void updateRange() {
+        list.updateRange(from, run);
+    }
+
+    @Benchmark
+    public int readNodeLoop() {
+        int sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += list.readNode(from + i).data;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int readRange() {
+        return list.readRange(from, from + count - 1, run);
+    }
+}
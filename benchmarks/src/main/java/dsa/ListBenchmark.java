@@ -0,0 +1,251 @@
+package dsa;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Every positional list operation (appendNode, readNode, updateNode,
+// deleteNode, length) and a full in-order walk on every list engine, for
+// several list sizes and access patterns. Operations that remove a node put one back at the tail,
+// so the list keeps its size for the whole measurement.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListBenchmark {
+    private static final int POSITIONS = 1 << 12;
+
+    public enum Access {
+        HEAD, MIDDLE, TAIL, SEQUENTIAL, RANDOM
+    }
+
+    @Param({"LinkedList", "DoublyLinkedList", "IndexableSkipList", "NodePoolList", "OffHeapDoublyLinkedList",
+            "UnrolledLinkedList"})
+    public String impl;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"HEAD", "MIDDLE", "TAIL", "SEQUENTIAL", "RANDOM"})
+    public Access access;
+
+    private ListOps list;
+    private final int[] positions = new int[POSITIONS];
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        list = create(impl);
+        for (int i = 0; i < size; i++) {
+            list.append(i);
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < POSITIONS; i++) {
+            switch (access) {
+                case HEAD:
+                    positions[i] = 1;
+                    break;
+                case MIDDLE:
+                    positions[i] = (size + 1) / 2;
+                    break;
+                case TAIL:
+                    positions[i] = size;
+                    break;
+                case SEQUENTIAL:
+                    positions[i] = i % size + 1;
+                    break;
+                default:
+                    positions[i] = random.nextInt(size) + 1;
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        list.close();
+    }
+
+    private int nextPosition() {
+        return positions[cursor++ & (POSITIONS - 1)];
+    }
+
+    @Benchmark
+    public int read() {
+        return list.read(nextPosition());
+    }
+
+    @Benchmark
+    public void update() {
+        list.update(nextPosition(), cursor);
+    }
+
+    // Delete at the pattern position, then append so the size stays put
+    @Benchmark
+    public void deleteThenAppend() {
+        list.delete(nextPosition());
+        list.append(cursor);
+    }
+
+    // Append at the tail, then delete the tail again
+    @Benchmark
+    public void appendThenDeleteTail() {
+        list.append(cursor++);
+        list.delete(list.length());
+    }
+
+    @Benchmark
+    public int length() {
+        return list.length();
+    }
+
+    // Walks the whole list in order; the access pattern does not apply
+    @Benchmark
+    public int sum() {
+        return list.sum();
+    }
+
+    // Common view of the list engines; reads return the stored value so
+    // node lookups cannot be optimized away
+    interface ListOps {
+        void append(int data);
+
+        int read(int position);
+
+        void update(int position, int data);
+
+        void delete(int position);
+
+        int length();
+
+        // Sum of all values, walked in list order
+        int sum();
+
+        default void close() {
+        }
+    }
+
+    static ListOps create(String impl) {
+        switch (impl) {
+            case "LinkedList":
+                return linked(new LinkedList());
+            case "DoublyLinkedList":
+                return doublyLinked(new DoublyLinkedList());
+            case "IndexableSkipList":
+                return skipList(new IndexableSkipList());
+            case "NodePoolList":
+                return nodePool(new NodePoolList());
+            case "OffHeapDoublyLinkedList":
+                return offHeap(new OffHeapDoublyLinkedList());
+            case "UnrolledLinkedList":
+                return unrolled(new UnrolledLinkedList());
+            default:
+                throw new IllegalArgumentException("Unknown list: " + impl);
+        }
+    }
+
+    private static ListOps linked(LinkedList list) {
+        return new ListOps() {
+            public void append(int data) { list.appendNode(data); }
+            public int read(int position) { return list.readNode(position).data; }
+            public void update(int position, int data) { list.updateNode(position, data); }
+            public void delete(int position) { list.deleteNode(position); }
+            public int length() { return list.length(); }
+            public int sum() {
+                int sum = 0;
+                for (Node current = list.head; current != null; current = current.next) sum += current.data;
+                return sum;
+            }
+        };
+    }
+
+    private static ListOps doublyLinked(DoublyLinkedList list) {
+        return new ListOps() {
+            public void append(int data) { list.appendNode(data); }
+            public int read(int position) { return list.readNode(position).data; }
+            public void update(int position, int data) { list.updateNode(position, data); }
+            public void delete(int position) { list.deleteNode(position); }
+            public int length() { return list.length(); }
+            public int sum() {
+                int sum = 0;
+                for (Node current = list.head; current != null; current = current.next) sum += current.data;
+                return sum;
+            }
+        };
+    }
+
+    private static ListOps skipList(IndexableSkipList list) {
+        return new ListOps() {
+            public void append(int data) { list.appendNode(data); }
+            public int read(int position) { return list.readNode(position).data; }
+            public void update(int position, int data) { list.updateNode(position, data); }
+            public void delete(int position) { list.deleteNode(position); }
+            public int length() { return list.length(); }
+            public int sum() {
+                int sum = 0;
+                for (SkipNode current = list.first(); current != null; current = current.next()) sum += current.data;
+                return sum;
+            }
+        };
+    }
+
+    private static ListOps nodePool(NodePoolList list) {
+        return new ListOps() {
+            public void append(int data) { list.appendNode(data); }
+            public int read(int position) { return list.data(list.readNode(position)); }
+            public void update(int position, int data) { list.updateNode(position, data); }
+            public void delete(int position) { list.deleteNode(position); }
+            public int length() { return list.length(); }
+            public int sum() {
+                int sum = 0;
+                for (int node = list.first(); node != NodePoolList.NIL; node = list.next(node)) sum += list.data(node);
+                return sum;
+            }
+        };
+    }
+
+    private static ListOps offHeap(OffHeapDoublyLinkedList list) {
+        return new ListOps() {
+            public void append(int data) { list.appendNode(data); }
+            public int read(int position) { return list.data(list.readNode(position)); }
+            public void update(int position, int data) { list.updateNode(position, data); }
+            public void delete(int position) { list.deleteNode(position); }
+            public int length() { return list.length(); }
+            public int sum() {
+                int sum = 0;
+                for (int node = list.first(); node != OffHeapDoublyLinkedList.NIL; node = list.next(node)) sum += list.data(node);
+                return sum;
+            }
+            public void close() { list.close(); }
+        };
+    }
+
+    private static ListOps unrolled(UnrolledLinkedList list) {
+        return new ListOps() {
+            public void append(int data) { list.appendNode(data); }
+            public int read(int position) { return list.readNode(position); }
+            public void update(int position, int data) { list.updateNode(position, data); }
+            public void delete(int position) { list.deleteNode(position); }
+            public int length() { return list.length(); }
+            public int sum() {
+                int[] sum = new int[1];
+                list.forEach(value -> sum[0] += value);
+                return sum[0];
+            }
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package dsa;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Sorting a whole DoublyLinkedList of random values: the in-place merge
+// sort, the fork/join version, and the copy-out baseline that reads the
+// values into an int[], sorts that and writes them back. twoPhaseSort is
+// what the GUIs run: sortedOrder without the list lock, then applySort
+// under it; applySortOnly times just the part that holds the lock. The
+// values are scrambled again before every iteration; the nodes keep
+// whatever memory order the previous sort left them in, as they would in a
+// long-lived list.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ListSortBenchmark {
+    @Param({"10000000"})
+    public int size;
+
+    private DoublyLinkedList list;
+    private int[] values;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new SplittableRandom(42);
+        list = new DoublyLinkedList();
+        for (int i = 0; i < size; i++) {
+            list.appendNode(random.nextInt());
+        }
+        values = new int[size];
+    }
+
+    @Setup(Level.Iteration)
+    public void scramble() {
+        for (Node node = list.head; node != null; node = node.next) {
+            node.data = random.nextInt();
+        }
+    }
+
+    @Benchmark
+    public Node sort() {
+        list.sort();
+        return list.head;
+    }
+
+    @Benchmark
+    public Node parallelSort() {
+        list.parallelSort();
+        return list.head;
+    }
+
+    @Benchmark
+    public Node twoPhaseSort() {
+        list.applySort(list.sortedOrder());
+        return list.head;
+    }
+
+    @Benchmark
+    public Node applySortOnly(Prepared prepared) {
+        prepared.list.applySort(prepared.order);
+        return prepared.list.head;
+    }
+
+    @Benchmark
+    public Node copyOutSort() {
+        list.readRange(1, size, values);
+        Arrays.sort(values);
+        list.updateRange(1, values);
+        return list.head;
+    }
+
+    @Benchmark
+    public Node copyOutParallelSort() {
+        list.readRange(1, size, values);
+        Arrays.parallelSort(values);
+        list.updateRange(1, values);
+        return list.head;
+    }
+
+    // A list of its own for applySortOnly, scrambled and with its sorted
+    // order worked out before every iteration
+    @State(Scope.Thread)
+    public static class Prepared {
+        @Param({"10000000"})
+        public int size;
+
+        DoublyLinkedList list;
+        Node[] order;
+        private SplittableRandom random;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            random = new SplittableRandom(42);
+            list = new DoublyLinkedList();
+            for (int i = 0; i < size; i++) {
+                list.appendNode(random.nextInt());
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void prepare() {
+            for (Node node = list.head; node != null; node = node.next) {
+                node.data = random.nextInt();
+            }
+            order = list.sortedOrder();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package dsa;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Whole-list aggregates through the new iterator and streams, against the
+// plain head-to-tail walk. sum is one add per node; digest does some hashing
+// per node, which is where a parallel stream has something to split.
+// digestWorkStealing runs the digest through ListReducer, with one
+// scheduler worker per core, against the parallel stream's ForkJoinPool.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListStreamBenchmark {
+    @Param({"1000000"})
+    public int size;
+
+    private DoublyLinkedList list;
+    private ListReducer reducer;
+
+    @Setup
+    public void setUp() {
+        list = new DoublyLinkedList();
+        for (int i = 0; i < size; i++) {
+            list.appendNode(i);
+        }
+        reducer = new ListReducer(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        reducer.close();
+    }
+
+    @Benchmark
+    public long sumLoop() {
+        long sum = 0;
+        for (Node current = list.head; current != null; current = current.next) {
+            sum += current.data;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long sumIterator() {
+        long sum = 0;
+        for (var it = list.iterator(); it.hasNext(); ) {
+            sum += it.nextInt();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long sumStream() {
+        return list.stream().asLongStream().sum();
+    }
+
+    @Benchmark
+    public long sumParallelStream() {
+        return list.stream().parallel().asLongStream().sum();
+    }
+
+    @Benchmark
+    public long digestLoop() {
+        long digest = 0;
+        for (Node current = list.head; current != null; current = current.next) {
+            digest += mix(current.data);
+        }
+        return digest;
+    }
+
+    @Benchmark
+    public long digestStream() {
+        return list.stream().mapToLong(ListStreamBenchmark::mix).sum();
+    }
+
+    @Benchmark
+    public long digestParallelStream() {
+        return list.stream().parallel().mapToLong(ListStreamBenchmark::mix).sum();
+    }
+
+    @Benchmark
+    public long digestWorkStealing() {
+        return reducer.sum(list.head, list.size, ListStreamBenchmark::mix);
+    }
+
+    // A few rounds of a 64-bit finalizer, standing in for real per-element work
+    private static long mix(int value) {
+        long h = value;
+        for (int i = 0; i < 8; i++) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 29;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,95 @@
+package dsa;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Find-by-value and delete-by-value on a DoublyLinkedList with and without
+// the value index. Values are 0..distinct-1, each repeated size/distinct
+// times, in shuffled order and are looked up in a second shuffled order;
+// every delete is followed by an append of the same value, so the list
+// keeps its contents. deleteFirstThenAppend is a positional delete, so it
+// measures what keeping the index in sync costs when values repeat.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListValueIndexBenchmark {
+    @Param({"100000"})
+    public int size;
+
+    @Param({"100000", "1000"})
+    public int distinct;
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    private DoublyLinkedList list;
+    private int[] lookups;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        list = new DoublyLinkedList();
+        for (int value : shuffled(random)) {
+            list.appendNode(value);
+        }
+        if (indexed) list.enableValueIndex();
+        lookups = shuffled(random);
+    }
+
+    @Benchmark
+    public boolean deleteByValueThenAppend() {
+        int value = nextValue();
+        boolean deleted = list.deleteByValue(value);
+        list.appendNode(value);
+        return deleted;
+    }
+
+    @Benchmark
+    public int deleteFirstThenAppend() {
+        int value = list.readNode(1).data;
+        list.deleteNode(1);
+        list.appendNode(value);
+        return value;
+    }
+
+    @Benchmark
+    public Node findByValue() {
+        return list.findByValue(nextValue());
+    }
+
+    private int nextValue() {
+        int value = lookups[next];
+        next = next + 1 == lookups.length ? 0 : next + 1;
+        return value;
+    }
+
+    private int[] shuffled(SplittableRandom random) {
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i % distinct;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+        return values;
+    }
+}
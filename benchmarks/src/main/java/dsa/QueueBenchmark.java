@@ -0,0 +1,90 @@
+package dsa;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Every QueueGUI.Queue operation on every queue type, single threaded, with
+// the queue pre-filled to the given size. enqueueDequeue keeps the size
+// constant; drainAndFill empties the queue and fills it back up.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueueBenchmark {
+    @Param({"Queue", "Priority Queue", "Circular Queue", "Blocking Circular Queue", "Growable Circular Queue",
+            "SPSC Ring Buffer", "Lock-Free Queue", "Deque", "Work-Stealing Deque", "Queue Using Stacks"})
+    public String impl;
+
+    @Param({"16", "10000", "1000000"})
+    public int size;
+
+    private QueueGUI.Queue queue;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        queue = create(impl, size);
+        for (int i = 0; i < size; i++) {
+            queue.enqueue(i);
+        }
+        next = size;
+    }
+
+    @Benchmark
+    public int enqueueDequeue() {
+        queue.enqueue(next++);
+        return queue.dequeue();
+    }
+
+    @Benchmark
+    public int peek() {
+        return queue.peek();
+    }
+
+    @Benchmark
+    public int size() {
+        return queue.size();
+    }
+
+    @Benchmark
+    public int getMiddle() {
+        return queue.get(size / 2);
+    }
+
+    @Benchmark
+    public void forEach(Blackhole blackhole) {
+        queue.forEach(blackhole::consume);
+    }
+
+    // Drains the pre-filled queue and fills it back up
+    @Benchmark
+    public void drainAndFill(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(queue.dequeue());
+        }
+        for (int i = 0; i < size; i++) {
+            queue.enqueue(next++);
+        }
+    }
+
+    // Bounded queues get exactly enough room for one extra element, so
+    // enqueueDequeue never fills them up
+    static QueueGUI.Queue create(String impl, int size) {
+        return QueueGUI.Queue.create(impl, size + 1);
+    }
+}
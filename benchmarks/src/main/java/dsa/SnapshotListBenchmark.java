@@ -0,0 +1,94 @@
+package dsa;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// One writer updating random positions while readers sum a consistent view
+// of the whole list. SnapshotList readers take an O(1) snapshot and never
+// block the writer; the baseline is a DoublyLinkedList behind a lock whose
+// readers copy the list out under the lock before summing. Change the split
+// with -tg, e.g. `-tg 1,3` for three readers.
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotListBenchmark {
+    @Param({"100000"})
+    public int size;
+
+    private SnapshotList snapshots;
+    private DoublyLinkedList locked;
+    private int[] copy;
+
+    @Setup
+    public void setUp() {
+        snapshots = new SnapshotList();
+        locked = new DoublyLinkedList();
+        for (int i = 0; i < size; i++) {
+            snapshots.appendNode(i);
+            locked.appendNode(i);
+        }
+        copy = new int[size];
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+        final SplittableRandom random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    @Group("snapshot")
+    @GroupThreads(1)
+    public void snapshotUpdate(Writer writer) {
+        snapshots.updateNode(writer.random.nextInt(size) + 1, writer.random.nextInt());
+    }
+
+    @Benchmark
+    @Group("snapshot")
+    @GroupThreads(1)
+    public long snapshotSum() {
+        return snapshots.snapshot().stream().asLongStream().sum();
+    }
+
+    @Benchmark
+    @Group("locked")
+    @GroupThreads(1)
+    public void lockedUpdate(Writer writer) {
+        int position = writer.random.nextInt(size) + 1;
+        int value = writer.random.nextInt();
+        synchronized (locked) {
+            locked.updateNode(position, value);
+        }
+    }
+
+    @Benchmark
+    @Group("locked")
+    @GroupThreads(1)
+    public long lockedCopySum() {
+        int count;
+        synchronized (locked) {
+            count = locked.readRange(1, size, copy);
+        }
+        long sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += copy[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,162 @@
+package dsa;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+class BlockingCircularQueueTest {
+    @Test
+    void fifoAcrossTheWrapPoint() {
+        QueueGUI.BlockingCircularQueue queue = new QueueGUI.BlockingCircularQueue(3);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(queue.offer(i));
+            if (queue.size() == 3) {
+                assertEquals(i - 2, queue.dequeue());
+                assertEquals(i - 1, queue.peek());
+            }
+        }
+        assertTrue(queue.offer(100));
+        assertEquals(3, queue.size());
+        assertEquals(0, queue.remainingCapacity());
+        assertFalse(queue.offer(101));
+        assertThrows(IllegalStateException.class, () -> queue.enqueue(101));
+        assertEquals(98, queue.get(0));
+        assertEquals(100, queue.get(2));
+        assertEquals(98, queue.poll());
+        assertEquals(99, queue.poll());
+        assertEquals(100, queue.poll());
+        assertEquals(QueueGUI.BlockingCircularQueue.EMPTY, queue.poll());
+        assertThrows(IllegalStateException.class, queue::dequeue);
+        assertThrows(IllegalStateException.class, queue::peek);
+    }
+
+    @Test
+    void timedCallsGiveUp() throws InterruptedException {
+        QueueGUI.BlockingCircularQueue queue = new QueueGUI.BlockingCircularQueue(1);
+        assertEquals(QueueGUI.BlockingCircularQueue.EMPTY, queue.poll(10, TimeUnit.MILLISECONDS));
+        assertTrue(queue.offer(1, 10, TimeUnit.MILLISECONDS));
+        assertFalse(queue.offer(2, 10, TimeUnit.MILLISECONDS));
+        assertEquals(1, queue.poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    // drainTo copies in two parts when the live range wraps, and a call with
+    // bad bounds throws before anything is removed
+    @Test
+    void drainToChecksBoundsFirst() {
+        QueueGUI.BlockingCircularQueue queue = new QueueGUI.BlockingCircularQueue(4);
+        for (int i = 0; i < 6; i++) {
+            queue.enqueue(i);
+            if (i < 2) queue.dequeue();
+        }
+        int[] dst = new int[5];
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.drainTo(dst, 6, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.drainTo(dst, -1, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.drainTo(dst, 0, -1));
+        assertEquals(4, queue.size());
+        assertEquals(3, queue.drainTo(dst, 2, 10));
+        assertArrayEquals(new int[] {0, 0, 2, 3, 4}, dst);
+        assertEquals(1, queue.drainTo(dst, 10));
+        assertEquals(5, dst[0]);
+        assertEquals(0, queue.drainTo(dst, 10));
+    }
+
+    @Test
+    void takeWaitsForPutAndHonoursInterrupt() throws Exception {
+        QueueGUI.BlockingCircularQueue queue = new QueueGUI.BlockingCircularQueue(1);
+        AtomicReference<Object> result = new AtomicReference<>();
+        Thread taker = new Thread(() -> {
+            try {
+                result.set(queue.take());
+            } catch (InterruptedException e) {
+                result.set(e);
+            }
+        });
+        taker.start();
+        queue.put(42);
+        taker.join(10_000);
+        assertEquals(42, result.get());
+
+        queue.put(1);
+        Thread putter = new Thread(() -> {
+            try {
+                queue.put(2);
+                result.set("put");
+            } catch (InterruptedException e) {
+                result.set(e);
+            }
+        });
+        putter.start();
+        putter.interrupt();
+        putter.join(10_000);
+        assertTrue(result.get() instanceof InterruptedException, String.valueOf(result.get()));
+        assertEquals(1, queue.size());
+    }
+
+    // Two producers block on a small queue while one consumer takes and one
+    // drains in batches; every value must arrive exactly once
+    @Test
+    void producersAndConsumersHandOffEveryValueOnce() throws InterruptedException {
+        int perProducer = 100_000;
+        QueueGUI.BlockingCircularQueue queue = new QueueGUI.BlockingCircularQueue(8);
+        AtomicIntegerArray seen = new AtomicIntegerArray(2 * perProducer);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < 2; p++) {
+            int base = p * perProducer;
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < perProducer; i++) {
+                        queue.put(base + i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        AtomicInteger consumed = new AtomicInteger();
+        threads.add(new Thread(() -> {
+            try {
+                while (consumed.get() < 2 * perProducer) {
+                    long value = queue.poll(1, TimeUnit.MILLISECONDS);
+                    if (value != QueueGUI.BlockingCircularQueue.EMPTY) {
+                        seen.incrementAndGet((int) value);
+                        consumed.incrementAndGet();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        threads.add(new Thread(() -> {
+            int[] batch = new int[5];
+            while (consumed.get() < 2 * perProducer) {
+                int n = queue.drainTo(batch, batch.length);
+                for (int i = 0; i < n; i++) {
+                    seen.incrementAndGet(batch[i]);
+                }
+                consumed.addAndGet(n);
+                if (n == 0) Thread.yield();
+            }
+        }));
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join(120_000);
+        }
+        for (int i = 0; i < seen.length(); i++) {
+            assertEquals(1, seen.get(i), "value " + i);
+        }
+        assertEquals(0, queue.size());
+    }
+}
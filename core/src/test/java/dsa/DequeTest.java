@@ -0,0 +1,114 @@
+package dsa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class DequeTest {
+    // Every operation at both ends, single and bulk, against ArrayDeque;
+    // front-heavy adds keep the front index wrapping below zero
+    @Test
+    void matchesArrayDeque() {
+        Random random = new Random(23);
+        QueueGUI.Deque deque = new QueueGUI.Deque();
+        ArrayDeque<Integer> expected = new ArrayDeque<>();
+        int[] buffer = new int[80];
+        for (int step = 0; step < 50_000; step++) {
+            int value = random.nextInt();
+            boolean grow = expected.size() < 300 || random.nextInt(3) == 0;
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    if (grow) {
+                        deque.addFront(value);
+                        expected.addFirst(value);
+                    } else {
+                        assertEquals(expected.pollFirst(), deque.removeFront());
+                    }
+                }
+                case 1 -> {
+                    if (grow) {
+                        deque.addRear(value);
+                        expected.addLast(value);
+                    } else {
+                        assertEquals(expected.pollLast(), deque.removeRear());
+                    }
+                }
+                case 2 -> {
+                    int off = random.nextInt(10);
+                    int len = random.nextInt(grow ? 60 : 5);
+                    for (int i = 0; i < len; i++) {
+                        buffer[off + i] = random.nextInt();
+                    }
+                    if (random.nextBoolean()) {
+                        deque.addAllFront(buffer, off, len);
+                        for (int i = len - 1; i >= 0; i--) {
+                            expected.addFirst(buffer[off + i]);
+                        }
+                    } else {
+                        deque.addAllRear(buffer, off, len);
+                        for (int i = 0; i < len; i++) {
+                            expected.addLast(buffer[off + i]);
+                        }
+                    }
+                }
+                default -> {
+                    int off = random.nextInt(10);
+                    int max = random.nextInt(grow ? 5 : 60);
+                    if (random.nextBoolean()) {
+                        int moved = deque.drainFront(buffer, off, max);
+                        for (int i = 0; i < moved; i++) {
+                            assertEquals(expected.pollFirst(), buffer[off + i]);
+                        }
+                    } else {
+                        int moved = deque.drainRear(buffer, off, max);
+                        for (int i = moved - 1; i >= 0; i--) {
+                            assertEquals(expected.pollLast(), buffer[off + i]);
+                        }
+                    }
+                }
+            }
+            assertEquals(expected.size(), deque.size());
+            if (!expected.isEmpty()) {
+                assertEquals(expected.peekFirst(), deque.peekFront());
+                assertEquals(expected.peekLast(), deque.peekRear());
+            }
+        }
+        int i = 0;
+        for (int value : expected) {
+            assertEquals(value, deque.get(i++));
+        }
+    }
+
+    @Test
+    void queueViewIsFifo() {
+        QueueGUI.Deque deque = new QueueGUI.Deque();
+        for (int i = 0; i < 100; i++) {
+            deque.enqueue(i);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, deque.peek());
+            assertEquals(i, deque.dequeue());
+        }
+        assertEquals(16 * 8, deque.capacity());
+    }
+
+    @Test
+    void rejectsBadArguments() {
+        QueueGUI.Deque deque = new QueueGUI.Deque();
+        int[] array = new int[4];
+        assertThrows(IllegalStateException.class, deque::removeFront);
+        assertThrows(IllegalStateException.class, deque::removeRear);
+        assertThrows(IllegalStateException.class, deque::peekFront);
+        assertThrows(IllegalStateException.class, deque::peekRear);
+        assertThrows(IndexOutOfBoundsException.class, () -> deque.addAllFront(array, 3, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> deque.addAllRear(array, -1, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> deque.drainFront(array, 5, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> deque.drainRear(array, 0, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> deque.get(0));
+        assertEquals(0, deque.size());
+    }
+}
@@ -0,0 +1,81 @@
+package dsa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class GrowableCircularQueueTest {
+    // Single and bulk operations against ArrayDeque. The queue starts at
+    // one slot, so the bulk copies run across the wrap point and through
+    // every resize.
+    @Test
+    void matchesArrayDeque() {
+        Random random = new Random(21);
+        QueueGUI.GrowableCircularQueue queue = new QueueGUI.GrowableCircularQueue(1);
+        ArrayDeque<Integer> expected = new ArrayDeque<>();
+        int[] buffer = new int[100];
+        for (int step = 0; step < 50_000; step++) {
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    int value = random.nextInt();
+                    queue.enqueue(value);
+                    expected.add(value);
+                }
+                case 1 -> {
+                    if (!expected.isEmpty()) assertEquals(expected.poll(), queue.dequeue());
+                }
+                case 2 -> {
+                    int off = random.nextInt(10);
+                    int len = random.nextInt(40);
+                    for (int i = 0; i < len; i++) {
+                        buffer[off + i] = random.nextInt();
+                        expected.add(buffer[off + i]);
+                    }
+                    queue.enqueueAll(buffer, off, len);
+                }
+                default -> {
+                    int off = random.nextInt(10);
+                    int moved = queue.drainTo(buffer, off, random.nextInt(50));
+                    for (int i = 0; i < moved; i++) {
+                        assertEquals(expected.poll(), buffer[off + i]);
+                    }
+                }
+            }
+            assertEquals(expected.size(), queue.size());
+            if (!expected.isEmpty()) {
+                assertEquals(expected.peek(), queue.peek());
+                assertEquals(expected.peekLast(), queue.get(queue.size() - 1));
+            }
+        }
+    }
+
+    @Test
+    void drainToStopsAtTheEndOfDst() {
+        QueueGUI.GrowableCircularQueue queue = new QueueGUI.GrowableCircularQueue(4);
+        queue.enqueueAll(new int[] {1, 2, 3, 4, 5, 6}, 0, 6);
+        int[] dst = new int[4];
+        assertEquals(2, queue.drainTo(dst, 2, 10));
+        assertEquals(2, dst[3]);
+        assertEquals(0, queue.drainTo(dst, 4, 10));
+        assertEquals(4, queue.size());
+        assertEquals(3, queue.peek());
+    }
+
+    @Test
+    void rejectsBadArguments() {
+        QueueGUI.GrowableCircularQueue queue = new QueueGUI.GrowableCircularQueue(4);
+        int[] array = new int[4];
+        assertThrows(IllegalStateException.class, queue::dequeue);
+        assertThrows(IllegalStateException.class, queue::peek);
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.enqueueAll(array, 2, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.enqueueAll(array, -1, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.drainTo(array, 5, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.drainTo(array, 0, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.get(0));
+        assertEquals(0, queue.size());
+    }
+}
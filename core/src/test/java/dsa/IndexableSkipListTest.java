@@ -0,0 +1,102 @@
+package dsa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class IndexableSkipListTest {
+    // Random positional edits checked against an ArrayList; the widths are
+    // only right if every read lands on the right node
+    @Test
+    void matchesArrayList() {
+        Random random = new Random(5);
+        IndexableSkipList list = new IndexableSkipList();
+        List<Integer> expected = new ArrayList<>();
+        for (int step = 0; step < 20_000; step++) {
+            int position = 1 + random.nextInt(expected.size() + 1);
+            int value = random.nextInt();
+            switch (random.nextInt(5)) {
+                case 0 -> {
+                    list.appendNode(value);
+                    expected.add(value);
+                }
+                case 1 -> {
+                    list.insertNode(position, value);
+                    expected.add(position - 1, value);
+                }
+                case 2 -> {
+                    list.deleteNode(position);
+                    if (position <= expected.size()) expected.remove(position - 1);
+                }
+                case 3 -> {
+                    list.updateNode(position, value);
+                    if (position <= expected.size()) expected.set(position - 1, value);
+                }
+                default -> {
+                    SkipNode node = list.readNode(position);
+                    if (position <= expected.size()) {
+                        assertEquals(expected.get(position - 1), node.data);
+                    } else {
+                        assertNull(node);
+                    }
+                }
+            }
+            assertEquals(expected.size(), list.length());
+        }
+        int i = 0;
+        for (SkipNode node = list.first(); node != null; node = node.next()) {
+            assertEquals(expected.get(i++), node.data);
+        }
+        assertEquals(expected.size(), i);
+    }
+
+    @Test
+    void outOfRangeIsIgnored() {
+        IndexableSkipList list = new IndexableSkipList();
+        assertNull(list.readNode(1));
+        list.deleteNode(1);
+        list.insertNode(2, 9);
+        list.appendNode(4);
+        list.updateNode(0, 1);
+        list.updateNode(2, 1);
+        assertNull(list.readNode(0));
+        assertNull(list.readNode(2));
+        assertEquals(1, list.length());
+        assertEquals(4, list.readNode(1).data);
+    }
+
+    // Drains the list from the front until it is empty, so the header's
+    // levels have to shrink back down
+    @Test
+    void deletingEverythingEmptiesTheList() {
+        IndexableSkipList list = new IndexableSkipList();
+        for (int i = 1; i <= 5000; i++) {
+            list.appendNode(i);
+        }
+        for (int i = 1; i <= 5000; i++) {
+            assertEquals(i, list.readNode(1).data);
+            list.deleteNode(1);
+        }
+        assertEquals(0, list.length());
+        assertNull(list.first());
+        list.appendNode(7);
+        assertEquals(7, list.readNode(1).data);
+    }
+
+    @Test
+    void isAnOpScriptStructure() {
+        OpScript.Driver driver = OpScript.driver("Indexable Skip List", 0);
+        assertEquals("IndexableSkipList", driver.name());
+        driver.execute(OpScript.APPEND, 5, 0);
+        driver.execute(OpScript.APPEND, 6, 0);
+        driver.execute(OpScript.UPDATE, 1, 8);
+        driver.execute(OpScript.DELETE, 2, 0);
+        assertEquals(8, driver.execute(OpScript.READ, 1, 0));
+        assertEquals(0, driver.execute(OpScript.READ, 2, 0));
+    }
+}
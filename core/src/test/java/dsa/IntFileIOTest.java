@@ -0,0 +1,87 @@
+package dsa;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class IntFileIOTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void textSeparatorsAndSigns() throws IOException {
+        assertArrayEquals(new int[]{1, -2, 30, 2147483647, -2147483648, 7},
+                loadText("1\n-2,30\r\n\t2147483647  -2147483648,,7"));
+    }
+
+    // Every window size from 1 to 8 bytes cuts some number in two
+    @Test
+    void numbersStraddlingMapWindows() throws IOException {
+        String text = "12345 -678,9\n-2147483648 40\n5";
+        int[] expected = {12345, -678, 9, Integer.MIN_VALUE, 40, 5};
+        Path path = write("straddle.txt", text);
+        for (long window = 1; window <= 8; window++) {
+            IntStream.Builder values = IntStream.builder();
+            IntFileIO.Transfer transfer = IntFileIO.loadText(path, values::add, window);
+            assertArrayEquals(expected, values.build().toArray(), "window " + window);
+            assertEquals(expected.length, transfer.values);
+        }
+    }
+
+    @Test
+    void malformedTextIsRejected() throws IOException {
+        assertThrows(IOException.class, () -> loadText("1 - 2"));
+        assertThrows(IOException.class, () -> loadText("1\n-"));
+        assertThrows(IOException.class, () -> loadText("1 --2"));
+        assertThrows(IOException.class, () -> loadText("1 2x"));
+        assertThrows(IOException.class, () -> loadText("2147483648"));
+        assertThrows(IOException.class, () -> loadText("-2147483649"));
+        assertThrows(IOException.class, () -> loadText("99999999999999999999"));
+    }
+
+    @Test
+    void emptyTextFile() throws IOException {
+        assertArrayEquals(new int[0], loadText(""));
+        assertArrayEquals(new int[0], loadText(" \n,"));
+    }
+
+    @Test
+    void binaryAndTextRoundTrip() throws IOException {
+        int[] values = {0, 1, -1, 42, Integer.MAX_VALUE, Integer.MIN_VALUE, 1000};
+        for (String name : new String[]{"values.bin", "values.txt", "values.csv"}) {
+            Path path = directory.resolve(name);
+            IntFileIO.Transfer exported = IntFileIO.export(path, action -> IntStream.of(values).forEach(action));
+            assertEquals(values.length, exported.values);
+            IntStream.Builder loaded = IntStream.builder();
+            IntFileIO.load(path, loaded::add);
+            assertArrayEquals(values, loaded.build().toArray(), name);
+        }
+        assertEquals(values.length * Integer.BYTES, Files.size(directory.resolve("values.bin")));
+    }
+
+    @Test
+    void binaryLengthMustBeWholeInts() throws IOException {
+        Path path = directory.resolve("odd.bin");
+        Files.write(path, new byte[]{0, 0, 0, 1, 0});
+        assertThrows(IOException.class, () -> IntFileIO.load(path, value -> { }));
+    }
+
+    private int[] loadText(String text) throws IOException {
+        IntStream.Builder values = IntStream.builder();
+        IntFileIO.load(write("input.txt", text), values::add);
+        return values.build().toArray();
+    }
+
+    private Path write(String name, String text) throws IOException {
+        return Files.write(directory.resolve(name), text.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,168 @@
+package dsa;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class ListJournalTest {
+    private static final int GROUP = 256;
+
+    @TempDir
+    Path directory;
+
+    // Appends one at a time and as a multi-record batch, 1510 values in all
+    // (not a multiple of the group size), then drops the journal without
+    // closing it, as a crashed process would. Everything acknowledged must
+    // come back: at once under ALWAYS, after one flush interval otherwise.
+    @ParameterizedTest
+    @EnumSource(ListJournal.FsyncPolicy.class)
+    void crashWithPartialGroupLosesNothing(ListJournal.FsyncPolicy policy) throws Exception {
+        int[] values = new int[1510];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i * 31 % 1000;
+        }
+        LinkedList list = new LinkedList();
+        ListJournal journal = new ListJournal(directory, list.journalTarget(), policy, GROUP, 0);
+        for (int i = 0; i < 10; i++) {
+            journal.appendNode(values[i]);
+        }
+        journal.appendAll(values, 10, values.length - 10);
+        if (policy != ListJournal.FsyncPolicy.ALWAYS) {
+            Thread.sleep(3 * ListJournal.FSYNC_INTERVAL_NANOS / 1_000_000);
+        }
+
+        LinkedList recovered = new LinkedList();
+        try (ListJournal reopened = new ListJournal(directory, recovered.journalTarget(), ListJournal.FsyncPolicy.ALWAYS, GROUP, 0)) {
+            assertArrayEquals(values, recovered.stream().toArray(), reopened.recoveryReport());
+        }
+    }
+
+    @Test
+    void replaysEveryRecordKind() throws IOException {
+        DoublyLinkedList list = new DoublyLinkedList();
+        Random random = new Random(7);
+        try (ListJournal journal = new ListJournal(directory, list.journalTarget(), ListJournal.FsyncPolicy.NEVER, GROUP, 0)) {
+            for (int i = 0; i < 300; i++) {
+                journal.appendNode(random.nextInt(100));
+            }
+            journal.updateNode(5, -1);
+            journal.deleteNode(1);
+            journal.deleteNode(list.length());
+            journal.insertAll(10, random.ints(2500, 0, 100).toArray(), 0, 2500);
+            journal.updateRange(20, new int[]{7, 8, 9}, 0, 3);
+            journal.deleteRange(100, 199);
+            journal.sort();
+            journal.appendNode(-5);
+        }
+        int[] expected = list.stream().toArray();
+        assertEquals(300 - 2 + 2500 - 100 + 1, expected.length);
+
+        DoublyLinkedList recovered = new DoublyLinkedList();
+        try (ListJournal journal = new ListJournal(directory, recovered.journalTarget(), ListJournal.FsyncPolicy.NEVER, GROUP, 0)) {
+            assertArrayEquals(expected, recovered.stream().toArray());
+            assertTrue(journal.recoveryReport().startsWith("Recovered 0 snapshot values"), journal.recoveryReport());
+        }
+    }
+
+    // The GUIs sort off their lock with sortedOrder/applySort and only log
+    // the result; replay must land on the same order
+    @Test
+    void replaysSortAppliedByCaller() throws IOException {
+        DoublyLinkedList list = new DoublyLinkedList();
+        Random random = new Random(11);
+        try (ListJournal journal = new ListJournal(directory, list.journalTarget(), ListJournal.FsyncPolicy.NEVER, GROUP, 0)) {
+            journal.appendAll(random.ints(1000, 0, 50).toArray(), 0, 1000);
+            list.applySort(list.sortedOrder());
+            journal.sorted();
+            journal.updateNode(3, 99);
+        }
+
+        DoublyLinkedList recovered = new DoublyLinkedList();
+        try (ListJournal journal = new ListJournal(directory, recovered.journalTarget(), ListJournal.FsyncPolicy.NEVER, GROUP, 0)) {
+            assertArrayEquals(list.stream().toArray(), recovered.stream().toArray());
+        }
+    }
+
+    @Test
+    void snapshotReplacesOldLogGenerations() throws IOException {
+        LinkedList list = new LinkedList();
+        try (ListJournal journal = new ListJournal(directory, list.journalTarget(), ListJournal.FsyncPolicy.NEVER, GROUP, 100)) {
+            for (int i = 0; i < 250; i++) {
+                journal.appendNode(i);
+            }
+        }
+        try (Stream<Path> logs = Files.list(directory)) {
+            assertEquals(1, logs.filter(path -> path.getFileName().toString().startsWith("wal-")).count());
+        }
+
+        LinkedList recovered = new LinkedList();
+        try (ListJournal journal = new ListJournal(directory, recovered.journalTarget(), ListJournal.FsyncPolicy.NEVER, GROUP, 100)) {
+            assertArrayEquals(list.stream().toArray(), recovered.stream().toArray());
+            assertTrue(journal.recoveryReport().startsWith("Recovered 200 snapshot values and replayed 50 log records"), journal.recoveryReport());
+        }
+    }
+
+    // A torn last frame is dropped and cut off, so new records follow the
+    // last intact frame and survive the next recovery
+    @Test
+    void tornFrameIsDroppedAndOverwritten() throws IOException {
+        LinkedList list = new LinkedList();
+        try (ListJournal journal = new ListJournal(directory, list.journalTarget(), ListJournal.FsyncPolicy.ALWAYS, GROUP, 0)) {
+            for (int i = 1; i <= 5; i++) {
+                journal.appendNode(i);
+            }
+        }
+        Path log = directory.resolve("wal-0.log");
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 2);
+        }
+
+        LinkedList recovered = new LinkedList();
+        try (ListJournal journal = new ListJournal(directory, recovered.journalTarget(), ListJournal.FsyncPolicy.ALWAYS, GROUP, 0)) {
+            assertArrayEquals(new int[]{1, 2, 3, 4}, recovered.stream().toArray());
+            journal.appendNode(6);
+        }
+        LinkedList again = new LinkedList();
+        try (ListJournal journal = new ListJournal(directory, again.journalTarget(), ListJournal.FsyncPolicy.ALWAYS, GROUP, 0)) {
+            assertArrayEquals(new int[]{1, 2, 3, 4, 6}, again.stream().toArray());
+        }
+    }
+
+    @Test
+    void corruptSnapshotIsRejected() throws IOException {
+        LinkedList list = new LinkedList();
+        try (ListJournal journal = new ListJournal(directory, list.journalTarget(), ListJournal.FsyncPolicy.NEVER, GROUP, 0)) {
+            journal.appendNode(1);
+            journal.appendNode(2);
+            journal.snapshot();
+        }
+        Path snapshot = directory.resolve("snapshot.bin");
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length - 5] ^= 1;
+        Files.write(snapshot, bytes);
+        assertThrows(IOException.class,
+                () -> new ListJournal(directory, new LinkedList().journalTarget(), ListJournal.FsyncPolicy.NEVER, GROUP, 0));
+    }
+
+    @Test
+    void recoveryTargetMustBeEmpty() {
+        LinkedList list = new LinkedList();
+        list.appendNode(1);
+        assertThrows(IllegalArgumentException.class,
+                () -> new ListJournal(directory, list.journalTarget(), ListJournal.FsyncPolicy.NEVER, GROUP, 0));
+    }
+}
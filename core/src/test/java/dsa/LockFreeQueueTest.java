@@ -0,0 +1,118 @@
+package dsa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class LockFreeQueueTest {
+    private static final int PRODUCERS = 4;
+    private static final int CONSUMERS = 4;
+    private static final int PER_PRODUCER = 200_000;
+    // Values are producer << SEQUENCE_BITS | sequence
+    private static final int SEQUENCE_BITS = 20;
+
+    @Test
+    void fifoOnOneThread() {
+        QueueGUI.LockFreeQueue queue = new QueueGUI.LockFreeQueue();
+        assertEquals(QueueGUI.LockFreeQueue.EMPTY, queue.poll());
+        for (int i = 0; i < 100; i++) {
+            queue.enqueue(i);
+        }
+        assertEquals(100, queue.size());
+        assertEquals(0, queue.peek());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, queue.dequeue());
+        }
+        assertTrue(queue.isEmpty());
+        assertThrows(IllegalStateException.class, queue::dequeue);
+    }
+
+    // Every value is delivered exactly once, and each consumer sees every
+    // producer's values in the order that producer enqueued them
+    @Test
+    @Timeout(120)
+    void manyProducersAndConsumers() throws InterruptedException {
+        QueueGUI.LockFreeQueue queue = new QueueGUI.LockFreeQueue();
+        AtomicIntegerArray deliveries = new AtomicIntegerArray(PRODUCERS << SEQUENCE_BITS);
+        AtomicLong consumed = new AtomicLong();
+        long total = (long) PRODUCERS * PER_PRODUCER;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Throwable> failures = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            threads.add(new Thread(() -> {
+                await(start);
+                for (int sequence = 0; sequence < PER_PRODUCER; sequence++) {
+                    queue.enqueue(producer << SEQUENCE_BITS | sequence);
+                }
+            }, "producer-" + p));
+        }
+        for (int c = 0; c < CONSUMERS; c++) {
+            threads.add(new Thread(() -> {
+                int[] lastSequence = new int[PRODUCERS];
+                Arrays.fill(lastSequence, -1);
+                await(start);
+                while (consumed.get() < total) {
+                    long polled = queue.poll();
+                    if (polled == QueueGUI.LockFreeQueue.EMPTY) {
+                        Thread.onSpinWait();
+                        continue;
+                    }
+                    int value = (int) polled;
+                    int producer = value >>> SEQUENCE_BITS;
+                    int sequence = value & ((1 << SEQUENCE_BITS) - 1);
+                    if (sequence <= lastSequence[producer]) {
+                        throw new AssertionError("Producer " + producer + " out of order: " + sequence + " after " + lastSequence[producer]);
+                    }
+                    lastSequence[producer] = sequence;
+                    deliveries.incrementAndGet(value);
+                    consumed.incrementAndGet();
+                }
+            }, "consumer-" + c));
+        }
+        for (Thread thread : threads) {
+            thread.setUncaughtExceptionHandler((t, e) -> {
+                synchronized (failures) {
+                    failures.add(e);
+                }
+            });
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(failures.isEmpty(), () -> "Worker failed: " + failures);
+        assertEquals(total, consumed.get());
+        for (int p = 0; p < PRODUCERS; p++) {
+            for (int sequence = 0; sequence < PER_PRODUCER; sequence++) {
+                int count = deliveries.get(p << SEQUENCE_BITS | sequence);
+                if (count != 1) {
+                    throw new AssertionError("Producer " + p + " value " + sequence + " delivered " + count + " times");
+                }
+            }
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
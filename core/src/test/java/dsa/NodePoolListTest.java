@@ -0,0 +1,96 @@
+package dsa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class NodePoolListTest {
+    @Test
+    void matchesArrayList() {
+        Random random = new Random(9);
+        NodePoolList list = new NodePoolList(1);
+        List<Integer> expected = new ArrayList<>();
+        for (int step = 0; step < 20_000; step++) {
+            int position = 1 + random.nextInt(expected.size() + 1);
+            int value = random.nextInt();
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    list.appendNode(value);
+                    expected.add(value);
+                }
+                case 1 -> {
+                    list.deleteNode(position);
+                    if (position <= expected.size()) expected.remove(position - 1);
+                }
+                case 2 -> {
+                    list.updateNode(position, value);
+                    if (position <= expected.size()) expected.set(position - 1, value);
+                }
+                default -> {
+                    int node = list.readNode(position);
+                    if (position <= expected.size()) {
+                        assertEquals(expected.get(position - 1), list.data(node));
+                    } else {
+                        assertEquals(NodePoolList.NIL, node);
+                    }
+                }
+            }
+            assertEquals(expected.size(), list.length());
+        }
+        assertEquals(expected, values(list));
+    }
+
+    // Deleted slots go on the free list and are handed out again before the
+    // arrays grow, so a steady append/delete workload keeps its footprint
+    @Test
+    void reusesFreedSlots() {
+        NodePoolList list = new NodePoolList(4);
+        for (int i = 0; i < 1000; i++) {
+            list.appendNode(i);
+        }
+        long footprint = list.footprintBytes();
+        for (int i = 0; i < 100_000; i++) {
+            list.deleteNode(1);
+            list.appendNode(i);
+        }
+        assertEquals(footprint, list.footprintBytes());
+        assertEquals(1000, list.length());
+        assertEquals(99_000, list.data(list.first()));
+    }
+
+    @Test
+    void outOfRangeIsIgnored() {
+        NodePoolList list = new NodePoolList();
+        assertEquals(NodePoolList.NIL, list.readNode(1));
+        assertEquals(NodePoolList.NIL, list.first());
+        list.deleteNode(1);
+        list.appendNode(3);
+        list.updateNode(2, 7);
+        list.deleteNode(0);
+        assertEquals(List.of(3), values(list));
+    }
+
+    @Test
+    void isAnOpScriptStructure() {
+        OpScript.Driver driver = OpScript.driver("NodePoolList", 0);
+        assertEquals("NodePoolList", driver.name());
+        driver.execute(OpScript.APPEND, 5, 0);
+        driver.execute(OpScript.APPEND, 6, 0);
+        driver.execute(OpScript.DELETE, 1, 0);
+        driver.execute(OpScript.UPDATE, 1, 9);
+        assertEquals(9, driver.execute(OpScript.READ, 1, 0));
+        assertEquals(0, driver.execute(OpScript.READ, 2, 0));
+    }
+
+    private static List<Integer> values(NodePoolList list) {
+        List<Integer> values = new ArrayList<>();
+        for (int node = list.first(); node != NodePoolList.NIL; node = list.next(node)) {
+            values.add(list.data(node));
+        }
+        return values;
+    }
+}
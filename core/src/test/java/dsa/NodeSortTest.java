@@ -0,0 +1,134 @@
+package dsa;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+class NodeSortTest {
+    private static final int[] SIZES = {0, 1, 2, 3, 17, 1000, 100_000};
+
+    @Test
+    void sortMatchesArraysSort() {
+        for (int size : SIZES) {
+            DoublyLinkedList list = randomList(size, 1 << 30);
+            int[] expected = sorted(list);
+            list.sort();
+            assertSorted(list, expected);
+        }
+    }
+
+    // The largest sizes are cut into runs on a pool of four
+    @Test
+    void parallelSortMatchesArraysSort() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int size : SIZES) {
+                DoublyLinkedList list = randomList(size, 1 << 30);
+                int[] expected = sorted(list);
+                list.parallelSort(pool);
+                assertSorted(list, expected);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void twoPhaseSortMatchesArraysSort() {
+        for (int size : SIZES) {
+            LinkedList list = new LinkedList();
+            Random random = new Random(size);
+            for (int i = 0; i < size; i++) {
+                list.appendNode(random.nextInt() - random.nextInt());
+            }
+            int[] expected = list.stream().sorted().toArray();
+            list.applySort(list.sortedOrder());
+            assertArrayEquals(expected, list.stream().toArray());
+            if (size > 0) assertNull(list.tail.next);
+        }
+    }
+
+    // Every sort keeps equal values in list order, so replaying a logged
+    // sort rebuilds the same nodes in the same places
+    @Test
+    void sortsAreStable() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int kind = 0; kind < 3; kind++) {
+                DoublyLinkedList list = randomList(100_000, 10);
+                Map<Node, Integer> original = new IdentityHashMap<>();
+                for (Node node = list.head; node != null; node = node.next) {
+                    original.put(node, original.size());
+                }
+                switch (kind) {
+                    case 0 -> list.sort();
+                    case 1 -> list.parallelSort(pool);
+                    default -> list.applySort(list.sortedOrder());
+                }
+                for (Node node = list.head; node.next != null; node = node.next) {
+                    if (node.data == node.next.data) {
+                        assertTrue(original.get(node) < original.get(node.next), "sort " + kind);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void applySortKeepsValueIndex() {
+        DoublyLinkedList list = randomList(1000, 50);
+        list.enableValueIndex();
+        list.applySort(list.sortedOrder());
+        for (int value = 0; value < 50; value++) {
+            Node node = list.findByValue(value);
+            if (node != null) assertSame(node, list.readNode(list.positionOf(node)));
+        }
+    }
+
+    @Test
+    void applySortRejectsStaleOrder() {
+        DoublyLinkedList list = randomList(10, 100);
+        Node[] order = list.sortedOrder();
+        list.appendNode(5);
+        assertThrows(IllegalStateException.class, () -> list.applySort(order));
+    }
+
+    private static DoublyLinkedList randomList(int size, int bound) {
+        Random random = new Random(size);
+        DoublyLinkedList list = new DoublyLinkedList();
+        for (int i = 0; i < size; i++) {
+            list.appendNode(random.nextInt(bound) - bound / 2);
+        }
+        return list;
+    }
+
+    private static int[] sorted(DoublyLinkedList list) {
+        int[] values = list.stream().toArray();
+        Arrays.sort(values);
+        return values;
+    }
+
+    private static void assertSorted(DoublyLinkedList list, int[] expected) {
+        assertArrayEquals(expected, list.stream().toArray());
+        assertEquals(expected.length, list.length());
+        Node previous = null;
+        for (Node node = list.head; node != null; node = node.next) {
+            assertSame(previous, node.prev);
+            previous = node;
+        }
+        assertSame(previous, list.tail);
+    }
+}
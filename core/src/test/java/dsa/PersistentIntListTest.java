@@ -0,0 +1,168 @@
+package dsa;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+class PersistentIntListTest {
+    // Random edits against ArrayList, growing deep enough for three levels
+    // and shrinking back, so leaves and branches both split and merge. Every
+    // 500 steps the current version is kept with a copy of its contents and
+    // checked again at the end: a change that wrote into a node it shares
+    // with an older version shows up there.
+    @Test
+    void matchesArrayListAndKeepsOldVersions() {
+        Random random = new Random(25);
+        PersistentIntList list = PersistentIntList.EMPTY;
+        List<Integer> expected = new ArrayList<>();
+        List<PersistentIntList> versions = new ArrayList<>();
+        List<int[]> contents = new ArrayList<>();
+        int maxDepth = 0;
+        for (int step = 0; step < 80_000; step++) {
+            int value = random.nextInt();
+            boolean grow = step < 50_000 ? random.nextInt(4) > 0 : random.nextInt(4) == 0;
+            if (grow) {
+                if (random.nextBoolean()) {
+                    list = list.append(value);
+                    expected.add(value);
+                } else {
+                    int index = random.nextInt(expected.size() + 1);
+                    list = list.insert(index, value);
+                    expected.add(index, value);
+                }
+            } else if (!expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                if (random.nextBoolean()) {
+                    list = list.remove(index);
+                    expected.remove(index);
+                } else {
+                    list = list.with(index, value);
+                    expected.set(index, value);
+                }
+            }
+            assertEquals(expected.size(), list.size());
+            maxDepth = Math.max(maxDepth, list.depth());
+            if (step % 500 == 0) {
+                versions.add(list);
+                contents.add(toArray(expected));
+            }
+        }
+        assertTrue(maxDepth >= 3, "depth " + maxDepth);
+        assertArrayEquals(toArray(expected), list.stream().toArray());
+        for (int i = 0; i < expected.size(); i += 7) {
+            assertEquals(expected.get(i), list.get(i));
+        }
+        for (int i = 0; i < versions.size(); i++) {
+            assertArrayEquals(contents.get(i), versions.get(i).stream().toArray(), "version " + i);
+        }
+    }
+
+    // Nodes never drop below half full except at the root, so the depth is
+    // at most about log base 16 of the size
+    @Test
+    void staysBalanced() {
+        PersistentIntList list = PersistentIntList.EMPTY;
+        Random random = new Random(3);
+        for (int i = 0; i < 100_000; i++) {
+            list = list.insert(random.nextInt(list.size() + 1), i);
+        }
+        assertTrue(list.depth() <= 5, "depth " + list.depth());
+        while (list.size() > 100) {
+            list = list.remove(random.nextInt(list.size()));
+        }
+        assertTrue(list.depth() <= 3, "depth " + list.depth());
+    }
+
+    // Appends split after a full left node, so a list built by appends is
+    // as shallow as a packed one
+    @Test
+    void appendsStayPacked() {
+        int size = PersistentIntList.MAX_WIDTH * PersistentIntList.MAX_WIDTH;
+        PersistentIntList appended = PersistentIntList.EMPTY;
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            appended = appended.append(i);
+            values[i] = i;
+        }
+        PersistentIntList packed = PersistentIntList.of(values, 0, size);
+        assertEquals(2, packed.depth());
+        assertEquals(packed.depth(), appended.depth());
+        assertArrayEquals(values, appended.stream().toArray());
+        assertArrayEquals(values, packed.stream().toArray());
+    }
+
+    @Test
+    void ofCopiesTheRange() {
+        for (int size : new int[] {0, 1, 31, 32, 33, 1024, 1025, 40_000}) {
+            int[] values = new Random(size).ints(size + 10).toArray();
+            PersistentIntList list = PersistentIntList.of(values, 5, size);
+            int[] expected = new int[size];
+            System.arraycopy(values, 5, expected, 0, size);
+            values[5 + size / 2] ^= 1;
+            assertArrayEquals(expected, list.stream().toArray(), "size " + size);
+            List<Integer> iterated = new ArrayList<>();
+            list.forEach(iterated::add);
+            assertEquals(size, iterated.size());
+        }
+    }
+
+    @Test
+    void rejectsBadIndexes() {
+        PersistentIntList list = PersistentIntList.EMPTY.append(1);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.with(-1, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.insert(2, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> PersistentIntList.EMPTY.get(0));
+        assertEquals(1, list.size());
+    }
+
+    // A reader takes snapshots of a SnapshotList while a writer appends the
+    // running count, so every snapshot must hold exactly 0..n-1 in order
+    @Test
+    void snapshotsAreConsistentWhileWriting() throws InterruptedException {
+        SnapshotList list = new SnapshotList();
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (!done.get() && failure.get() == null) {
+                PersistentIntList snapshot = list.snapshot();
+                int[] values = snapshot.stream().toArray();
+                for (int i = 0; i < values.length; i++) {
+                    if (values[i] != i) {
+                        failure.set("snapshot of " + values.length + " has " + values[i] + " at " + i);
+                        break;
+                    }
+                }
+                Thread.yield();
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 20_000; i++) {
+            list.appendNode(i);
+        }
+        done.set(true);
+        reader.join();
+        assertNull(failure.get());
+        assertEquals(20_000, list.length());
+        assertEquals(19_999, list.readNode(20_000));
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+}
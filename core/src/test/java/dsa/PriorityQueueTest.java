@@ -0,0 +1,77 @@
+package dsa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PriorityQueueTest {
+    // Interleaved enqueues and dequeues against java.util.PriorityQueue, with
+    // many duplicates so ties between children are common
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 4, 8})
+    void matchesJavaPriorityQueue(int arity) {
+        Random random = new Random(arity);
+        QueueGUI.PriorityQueue heap = new QueueGUI.PriorityQueue(arity);
+        java.util.PriorityQueue<Integer> expected = new java.util.PriorityQueue<>();
+        for (int step = 0; step < 50_000; step++) {
+            if (expected.isEmpty() || random.nextInt(5) < 3) {
+                int value = random.nextInt(1000) - 500;
+                heap.enqueue(value);
+                expected.add(value);
+            } else {
+                assertEquals(expected.peek(), heap.peek());
+                assertEquals(expected.poll(), heap.dequeue());
+            }
+            assertEquals(expected.size(), heap.size());
+        }
+        assertHeapOrdered(heap, arity);
+        while (!expected.isEmpty()) {
+            assertEquals(expected.poll(), heap.dequeue());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 4, 7})
+    void bulkBuildIsAHeap(int arity) {
+        for (int size : new int[] {0, 1, 2, 15, 16, 17, 10_000}) {
+            int[] values = new Random(size).ints(size, -100, 100).toArray();
+            QueueGUI.PriorityQueue heap = new QueueGUI.PriorityQueue(values, arity);
+            assertEquals(size, heap.size());
+            assertHeapOrdered(heap, arity);
+            int[] sorted = values.clone();
+            Arrays.sort(sorted);
+            for (int value : sorted) {
+                assertEquals(value, heap.dequeue());
+            }
+            heap.enqueue(3);
+            assertEquals(3, heap.peek());
+        }
+    }
+
+    @Test
+    void emptyAndInvalidUse() {
+        QueueGUI.PriorityQueue heap = new QueueGUI.PriorityQueue();
+        assertThrows(IllegalStateException.class, heap::dequeue);
+        assertThrows(IllegalStateException.class, heap::peek);
+        assertThrows(IndexOutOfBoundsException.class, () -> heap.get(0));
+        assertThrows(IllegalArgumentException.class, () -> new QueueGUI.PriorityQueue(1));
+        heap.enqueue(Integer.MIN_VALUE);
+        heap.enqueue(Integer.MAX_VALUE);
+        assertEquals(Integer.MIN_VALUE, heap.dequeue());
+        assertEquals(Integer.MAX_VALUE, heap.dequeue());
+    }
+
+    private static void assertHeapOrdered(QueueGUI.PriorityQueue heap, int arity) {
+        for (int i = 1; i < heap.size(); i++) {
+            int parent = (i - 1) / arity;
+            assertTrue(heap.get(parent) <= heap.get(i), "heap order at " + i);
+        }
+    }
+}
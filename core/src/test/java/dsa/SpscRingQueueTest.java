@@ -0,0 +1,106 @@
+package dsa;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class SpscRingQueueTest {
+    @Test
+    void capacityRoundsUpToPowerOfTwo() {
+        QueueGUI.SpscRingQueue queue = new QueueGUI.SpscRingQueue(5);
+        for (int i = 0; i < 8; i++) {
+            assertTrue(queue.offer(i));
+        }
+        assertFalse(queue.offer(8));
+        assertThrows(IllegalStateException.class, () -> queue.enqueue(8));
+        assertEquals(8, queue.size());
+    }
+
+    @Test
+    void bulkCallsWrapAroundTheRing() {
+        QueueGUI.SpscRingQueue queue = new QueueGUI.SpscRingQueue(8);
+        int[] values = {1, 2, 3, 4, 5, 6};
+        assertEquals(6, queue.enqueueAll(values, 0, 6));
+        assertEquals(1, queue.dequeue());
+        assertEquals(2, queue.dequeue());
+        assertEquals(4, queue.enqueueAll(new int[]{7, 8, 9, 10, 11}, 0, 5));
+        int[] drained = new int[10];
+        assertEquals(8, queue.drainTo(drained, 1, 100));
+        assertArrayEquals(new int[]{0, 3, 4, 5, 6, 7, 8, 9, 10, 0}, drained);
+        assertEquals(0, queue.size());
+        assertThrows(IllegalStateException.class, queue::dequeue);
+    }
+
+    @Test
+    void bulkCallsRejectBadBoundsBeforeMovingAnything() {
+        QueueGUI.SpscRingQueue queue = new QueueGUI.SpscRingQueue(8);
+        int[] values = {1, 2, 3};
+        queue.enqueueAll(values, 0, 3);
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.enqueueAll(values, -1, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.enqueueAll(values, 2, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.enqueueAll(values, 0, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.drainTo(new int[2], 3, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.drainTo(new int[2], 0, -1));
+        assertEquals(3, queue.size());
+        assertEquals(1, queue.peek());
+    }
+
+    // One producer, one consumer and an observer calling size(): every value
+    // arrives once and in order, and size() stays within [0, capacity]
+    @Test
+    @Timeout(60)
+    void producerConsumerHandOff() throws InterruptedException {
+        int count = 200_000;
+        QueueGUI.SpscRingQueue queue = new QueueGUI.SpscRingQueue(64);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicInteger badSize = new AtomicInteger(Integer.MIN_VALUE);
+        Thread producer = new Thread(() -> {
+            int[] batch = new int[16];
+            int next = 0;
+            while (next < count) {
+                int before = next;
+                if ((next & 1) == 0) {
+                    if (queue.offer(next)) next++;
+                } else {
+                    int n = Math.min(batch.length, count - next);
+                    for (int i = 0; i < n; i++) {
+                        batch[i] = next + i;
+                    }
+                    next += queue.enqueueAll(batch, 0, n);
+                }
+                if (next == before) Thread.yield();
+            }
+        });
+        Thread observer = new Thread(() -> {
+            while (!done.get()) {
+                int size = queue.size();
+                if (size < 0 || size > 64) badSize.set(size);
+                Thread.yield();
+            }
+        });
+        producer.start();
+        observer.start();
+        int[] drained = new int[32];
+        int expected = 0;
+        while (expected < count) {
+            int n = queue.drainTo(drained, 0, drained.length);
+            if (n == 0) Thread.yield();
+            for (int i = 0; i < n; i++) {
+                assertEquals(expected++, drained[i]);
+            }
+        }
+        done.set(true);
+        producer.join();
+        observer.join();
+        assertEquals(Integer.MIN_VALUE, badSize.get(), "size() returned " + badSize.get());
+        assertEquals(0, queue.size());
+    }
+}
@@ -0,0 +1,121 @@
+package dsa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class UnrolledLinkedListTest {
+    // Small lists around a few chunk sizes keep splits, borrows and merges
+    // frequent; reads check both walking directions of locate()
+    @Test
+    void matchesArrayList() {
+        Random random = new Random(13);
+        UnrolledLinkedList list = new UnrolledLinkedList();
+        List<Integer> expected = new ArrayList<>();
+        for (int step = 0; step < 50_000; step++) {
+            int position = 1 + random.nextInt(expected.size() + 1);
+            int value = random.nextInt();
+            // Lean towards growing until about five chunks, then shrinking
+            boolean grow = expected.size() < 5 * UnrolledLinkedList.CHUNK_CAPACITY ? random.nextInt(3) > 0 : random.nextInt(3) == 0;
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    if (grow) {
+                        list.insertNode(position, value);
+                        expected.add(position - 1, value);
+                    } else {
+                        list.deleteNode(position);
+                        if (position <= expected.size()) expected.remove(position - 1);
+                    }
+                }
+                case 1 -> {
+                    if (grow) {
+                        list.appendNode(value);
+                        expected.add(value);
+                    } else if (!expected.isEmpty()) {
+                        list.deleteNode(expected.size());
+                        expected.remove(expected.size() - 1);
+                    }
+                }
+                case 2 -> {
+                    list.updateNode(position, value);
+                    if (position <= expected.size()) expected.set(position - 1, value);
+                }
+                default -> {
+                    if (position <= expected.size()) assertEquals(expected.get(position - 1), list.readNode(position));
+                }
+            }
+            assertEquals(expected.size(), list.length());
+        }
+        assertEquals(expected, values(list));
+    }
+
+    // Deleting three values in every four leaves chunks below half full,
+    // which borrow or merge until every chunk but the ends is at least half
+    // full again, so the footprint follows the size back down
+    @Test
+    void chunksMergeWhenUnderfull() {
+        UnrolledLinkedList list = new UnrolledLinkedList();
+        for (int i = 0; i < 64 * 100; i++) {
+            list.appendNode(i);
+        }
+        assertEquals(100L * Integer.BYTES * UnrolledLinkedList.CHUNK_CAPACITY, list.footprintBytes());
+        for (int position = 1; position <= list.length(); position++) {
+            for (int i = 0; i < 3; i++) {
+                list.deleteNode(position);
+            }
+        }
+        assertEquals(16 * 100, list.length());
+        long maxChunks = 16 * 100 / (UnrolledLinkedList.CHUNK_CAPACITY / 2) + 2;
+        assertTrue(list.footprintBytes() <= maxChunks * Integer.BYTES * UnrolledLinkedList.CHUNK_CAPACITY,
+                "footprint " + list.footprintBytes());
+        List<Integer> values = values(list);
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(4 * i + 3, values.get(i));
+        }
+    }
+
+    // The contract documented on LinkedList.readNode: writes ignore a
+    // position out of range, reads of a bare value throw
+    @Test
+    void outOfRangeFollowsListContract() {
+        UnrolledLinkedList list = new UnrolledLinkedList();
+        assertThrows(IndexOutOfBoundsException.class, () -> list.readNode(1));
+        list.deleteNode(1);
+        list.updateNode(1, 5);
+        list.insertNode(2, 5);
+        assertEquals(0, list.length());
+        list.appendNode(4);
+        list.insertNode(0, 5);
+        list.updateNode(2, 5);
+        list.deleteNode(2);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.readNode(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.readNode(2));
+        assertEquals(List.of(4), values(list));
+    }
+
+    @Test
+    void isAnOpScriptStructure() {
+        OpScript.Driver driver = OpScript.driver("unrolled linked list", 0);
+        assertEquals("UnrolledLinkedList", driver.name());
+        for (int i = 0; i < 200; i++) {
+            driver.execute(OpScript.APPEND, i, 0);
+        }
+        driver.execute(OpScript.DELETE, 1, 0);
+        driver.execute(OpScript.UPDATE, 100, -1);
+        assertEquals(-1, driver.execute(OpScript.READ, 100, 0));
+        assertEquals(1, driver.execute(OpScript.READ, 1, 0));
+        assertEquals(0, driver.execute(OpScript.READ, 200, 0));
+    }
+
+    private static List<Integer> values(UnrolledLinkedList list) {
+        List<Integer> values = new ArrayList<>();
+        list.forEach(values::add);
+        return values;
+    }
+}
@@ -0,0 +1,129 @@
+package dsa;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class ValueIndexTest {
+    @Test
+    void removesDuplicatesInAnyOrder() {
+        ValueIndex index = new ValueIndex();
+        List<ValueIndex.IndexedNode> nodes = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            ValueIndex.IndexedNode node = new ValueIndex.IndexedNode(7, null, null);
+            nodes.add(node);
+            index.add(7, node);
+        }
+        assertEquals(50, index.count(7));
+
+        Random random = new Random(1);
+        while (!nodes.isEmpty()) {
+            ValueIndex.IndexedNode node = nodes.remove(random.nextInt(nodes.size()));
+            assertTrue(index.remove(7, node));
+            assertFalse(index.remove(7, node));
+            assertEquals(nodes.size(), index.count(7));
+            if (!nodes.isEmpty()) assertTrue(nodes.contains(index.any(7)));
+        }
+        assertNull(index.any(7));
+    }
+
+    @Test
+    void rejectsNodeUnderWrongValue() {
+        ValueIndex index = new ValueIndex();
+        ValueIndex.IndexedNode a = new ValueIndex.IndexedNode(1, null, null);
+        ValueIndex.IndexedNode b = new ValueIndex.IndexedNode(2, null, null);
+        index.add(1, a);
+        index.add(2, b);
+        assertFalse(index.remove(2, a));
+        assertFalse(index.remove(3, a));
+        assertSame(a, index.any(1));
+        assertSame(b, index.any(2));
+    }
+
+    // Many distinct values force resizes and long probe runs; removing half
+    // of them exercises backward-shift deletion
+    @Test
+    void survivesResizeAndDeletion() {
+        ValueIndex index = new ValueIndex();
+        ValueIndex.IndexedNode[] nodes = new ValueIndex.IndexedNode[5000];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = new ValueIndex.IndexedNode(i * 64, null, null);
+            index.add(i * 64, nodes[i]);
+        }
+        for (int i = 0; i < nodes.length; i += 2) {
+            assertTrue(index.remove(i * 64, nodes[i]));
+        }
+        for (int i = 0; i < nodes.length; i++) {
+            if (i % 2 == 0) {
+                assertNull(index.any(i * 64));
+            } else {
+                assertSame(nodes[i], index.any(i * 64));
+            }
+        }
+    }
+
+    // Random edits on an indexed list, checked against a scan of the list
+    @Test
+    void listIndexMatchesScan() {
+        Random random = new Random(3);
+        DoublyLinkedList list = new DoublyLinkedList();
+        for (int i = 0; i < 200; i++) {
+            list.appendNode(random.nextInt(20));
+        }
+        list.enableValueIndex();
+        for (int step = 0; step < 5000; step++) {
+            int value = random.nextInt(20);
+            int position = 1 + random.nextInt(list.length() + 1);
+            switch (random.nextInt(8)) {
+                case 0 -> list.appendNode(value);
+                case 1 -> list.deleteNode(position);
+                case 2 -> list.updateNode(position, value);
+                case 3 -> list.deleteByValue(value);
+                case 4 -> list.updateByValue(value, random.nextInt(20));
+                case 5 -> list.insertAll(position, new int[] {value, value, random.nextInt(20)});
+                case 6 -> list.deleteRange(position, Math.min(list.length(), position + random.nextInt(4)));
+                default -> list.sort();
+            }
+            if (step % 50 == 0) assertMatchesScan(list);
+        }
+        assertMatchesScan(list);
+    }
+
+    @Test
+    void enablingKeepsContents() {
+        DoublyLinkedList list = new DoublyLinkedList();
+        list.appendAll(new int[] {3, 1, 3, 2});
+        list.enableValueIndex();
+        assertArrayEquals(new int[] {3, 1, 3, 2}, list.stream().toArray());
+        assertEquals(2, list.countByValue(3));
+        assertEquals(4, list.positionOf(list.findByValue(2)));
+        assertSame(list.readNode(4), list.findByValue(2));
+    }
+
+    private static void assertMatchesScan(DoublyLinkedList list) {
+        int[] values = list.stream().toArray();
+        for (int value = 0; value < 20; value++) {
+            int expected = 0;
+            for (int v : values) {
+                if (v == value) expected++;
+            }
+            assertEquals(expected, list.countByValue(value), "count of " + value);
+            Node node = list.findByValue(value);
+            if (expected == 0) {
+                assertNull(node);
+            } else {
+                assertEquals(value, node.data);
+                assertSame(node, list.readNode(list.positionOf(node)));
+            }
+        }
+    }
+}
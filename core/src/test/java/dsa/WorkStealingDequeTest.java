@@ -0,0 +1,84 @@
+package dsa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.jupiter.api.Test;
+
+class WorkStealingDequeTest {
+    @Test
+    void ownerPopsNewestAndThievesTakeOldest() {
+        QueueGUI.WorkStealingDeque deque = new QueueGUI.WorkStealingDeque(2);
+        for (int i = 0; i < 100; i++) {
+            deque.push(i);
+        }
+        assertEquals(100, deque.size());
+        assertEquals(99, deque.pop());
+        assertEquals(0, deque.steal());
+        assertEquals(1, deque.get(0));
+        assertEquals(1, deque.peek());
+        for (int i = 98; i >= 1; i--) {
+            assertEquals(i, deque.pop());
+        }
+        assertEquals(QueueGUI.WorkStealingDeque.EMPTY, deque.pop());
+        assertEquals(QueueGUI.WorkStealingDeque.EMPTY, deque.steal());
+        assertThrows(IllegalStateException.class, deque::dequeue);
+    }
+
+    @Test
+    void queueViewIsFifo() {
+        QueueGUI.WorkStealingDeque deque = new QueueGUI.WorkStealingDeque();
+        for (int i = 0; i < 1000; i++) {
+            deque.enqueue(i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, deque.dequeue());
+        }
+        assertEquals(0, deque.size());
+    }
+
+    // The owner pushes and pops while three thieves steal; the deque starts
+    // small so it grows under contention. Every value must be taken once.
+    @Test
+    void ownerAndThievesTakeEachValueOnce() throws InterruptedException {
+        int count = 200_000;
+        QueueGUI.WorkStealingDeque deque = new QueueGUI.WorkStealingDeque(4);
+        AtomicIntegerArray taken = new AtomicIntegerArray(count);
+        AtomicBoolean done = new AtomicBoolean();
+        List<Thread> thieves = new ArrayList<>();
+        for (int t = 0; t < 3; t++) {
+            Thread thief = new Thread(() -> {
+                while (!done.get() || deque.size() > 0) {
+                    long value = deque.steal();
+                    if (value == QueueGUI.WorkStealingDeque.EMPTY) {
+                        Thread.yield();
+                    } else {
+                        taken.incrementAndGet((int) value);
+                    }
+                }
+            });
+            thieves.add(thief);
+            thief.start();
+        }
+        for (int i = 0; i < count; i++) {
+            deque.push(i);
+            if (i % 3 == 0) {
+                long value = deque.pop();
+                if (value != QueueGUI.WorkStealingDeque.EMPTY) taken.incrementAndGet((int) value);
+            }
+            if (i % 1000 == 0) Thread.yield();
+        }
+        done.set(true);
+        for (Thread thief : thieves) {
+            thief.join();
+        }
+        for (int i = 0; i < count; i++) {
+            assertEquals(1, taken.get(i), "value " + i);
+        }
+    }
+}
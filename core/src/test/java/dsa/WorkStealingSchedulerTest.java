@@ -0,0 +1,96 @@
+package dsa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class WorkStealingSchedulerTest {
+    // Each payload n > 1 forks n/2 and n - n/2, so a submitted n runs every
+    // leaf of a binary tree with n leaves; the tree is deep enough that
+    // workers have to steal to share it
+    @Test
+    void runsEveryForkedPayloadOnce() {
+        AtomicLong leaves = new AtomicLong();
+        AtomicIntegerArray ranBy = new AtomicIntegerArray(4);
+        try (WorkStealingScheduler scheduler = new WorkStealingScheduler(4, (payload, worker) -> {
+            ranBy.incrementAndGet(worker.index());
+            if (payload == 1) {
+                leaves.incrementAndGet();
+            } else {
+                worker.fork(payload / 2);
+                worker.fork(payload - payload / 2);
+            }
+        })) {
+            for (int i = 0; i < 10; i++) {
+                scheduler.submit(10_000);
+            }
+            scheduler.awaitQuiescence();
+            assertEquals(100_000, leaves.get());
+            long runs = 0;
+            for (int i = 0; i < ranBy.length(); i++) {
+                runs += ranBy.get(i);
+            }
+            assertEquals(10 * (2 * 10_000 - 1), runs);
+        }
+    }
+
+    @Test
+    void workersSurviveFailingTasks() {
+        AtomicLong ran = new AtomicLong();
+        try (WorkStealingScheduler scheduler = new WorkStealingScheduler(2, (payload, worker) -> {
+            ran.incrementAndGet();
+            if (payload % 2 == 0) throw new IllegalStateException("payload " + payload);
+        })) {
+            // The failures are reported on stderr by the default handler
+            for (int i = 0; i < 10; i++) {
+                scheduler.submit(i);
+            }
+            scheduler.awaitQuiescence();
+            assertEquals(10, ran.get());
+        }
+    }
+
+    @Test
+    void rejectsSubmitAfterClose() {
+        WorkStealingScheduler scheduler = new WorkStealingScheduler(1, (payload, worker) -> { });
+        scheduler.close();
+        assertThrows(IllegalStateException.class, () -> scheduler.submit(1));
+    }
+
+    @Test
+    void reducerMatchesSerialSum() {
+        try (ListReducer reducer = new ListReducer(4)) {
+            for (int size : new int[] {0, 1, 1000, 8192, 100_000, 1_000_003}) {
+                LinkedList list = new LinkedList();
+                long expected = 0;
+                for (int i = 0; i < size; i++) {
+                    list.appendNode(i * 7 - 500);
+                    expected += (long) (i * 7 - 500) * 3;
+                }
+                assertEquals(expected, reducer.sum(list.head, list.size, value -> value * 3L), "size " + size);
+            }
+        }
+    }
+
+    @Test
+    void reducerRethrowsFailure() {
+        DoublyLinkedList list = new DoublyLinkedList();
+        for (int i = 0; i < 100_000; i++) {
+            list.appendNode(i);
+        }
+        IllegalArgumentException failure = new IllegalArgumentException("bad value");
+        try (ListReducer reducer = new ListReducer(4)) {
+            assertSame(failure, assertThrows(IllegalArgumentException.class, () -> reducer.sum(list.head, list.size, value -> {
+                if (value == 77_777) throw failure;
+                return value;
+            })));
+            // and the next reduction is unaffected
+            assertEquals(100_000L * 99_999 / 2, reducer.sum(list.head, list.size, value -> value));
+        }
+    }
+}